@@ -0,0 +1,97 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Compare a case-insensitive comparison based on the incubator Vector API with
+ * the scalar and SWAR ones.
+ * <p>
+ * Only built with the {@code vector} Maven profile or the {@code vector} Gradle
+ * property. The Vector API loads from arrays, so the vectorised method compares
+ * a {@code char} array instead of a {@code CharSequence}.
+ * </p>
+ */
+@Fork(value = 2, warmups = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class EqualsIgnoreCaseVectorBenchmark {
+
+	private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+	@Benchmark
+	public boolean markEqualsIgnoreCaseLength(IgnoreCaseData data) {
+		return EqualsIgnoreCaseBenchmark
+				.checkEquals(EqualsIgnoreCaseBenchmark.equalsIgnoreCase(data.seq, data.lcString));
+	}
+
+	@Benchmark
+	public boolean markEqualsIgnoreCaseLengthSWAR(IgnoreCaseData data) {
+		return EqualsIgnoreCaseBenchmark
+				.checkEquals(EqualsIgnoreCaseBenchmark.equalsIgnoreCaseSWAR(data.seq, data.lcString));
+	}
+
+	@Benchmark
+	public boolean markEqualsIgnoreCaseLengthVector(IgnoreCaseData data) {
+		return EqualsIgnoreCaseBenchmark.checkEquals(
+				equalsIgnoreCaseVector(data.seqChars, 0, data.seqChars.length, data.lcChars));
+	}
+
+	private static boolean equalsIgnoreCaseVector(char[] buf, int off, int len, char[] lcArray) {
+		if (lcArray.length != len) {
+			return false;
+		}
+		int i = 0;
+		int bound = SPECIES.loopBound(len);
+		for (; i < bound; i += SPECIES.length()) {
+			ShortVector v = ShortVector.fromCharArray(SPECIES, buf, off + i);
+			ShortVector w = ShortVector.fromCharArray(SPECIES, lcArray, i);
+			if (v.or(w).lanewise(VectorOperators.AND, (short) 0xff80)
+					.compare(VectorOperators.NE, (short) 0).anyTrue()) {
+				// Non-ASCII lanes
+				if (!regionEqualsIgnoreCase(buf, off + i, lcArray, i, SPECIES.length())) {
+					return false;
+				}
+			} else {
+				VectorMask<Short> upper = v.compare(VectorOperators.GE, (short) 'A')
+						.and(v.compare(VectorOperators.LE, (short) 'Z'));
+				// Upper-case chars may differ from the lower-case ones in 0x20
+				ShortVector diff = v.lanewise(VectorOperators.XOR, w).lanewise(VectorOperators.AND,
+						(short) ~0x20, upper);
+				if (diff.compare(VectorOperators.NE, (short) 0).anyTrue()) {
+					return false;
+				}
+			}
+		}
+		return regionEqualsIgnoreCase(buf, off + i, lcArray, i, len - i);
+	}
+
+	private static boolean regionEqualsIgnoreCase(char[] buf, int off, char[] lcArray, int lcOff,
+			int len) {
+		for (int i = 0; i < len; i++) {
+			char c = buf[off + i];
+			char lc = lcArray[lcOff + i];
+			if (c != lc) {
+				if (Character.isLowerCase(c) || Character.toLowerCase(c) != lc) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+}
@@ -15,7 +15,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 
 /**
- * Compare two EqualsIgnoreCase methods.
+ * Compare EqualsIgnoreCase methods.
  */
 @Fork(value = 2, warmups = 2)
 public class EqualsIgnoreCaseBenchmark {
@@ -140,7 +140,34 @@ public class EqualsIgnoreCaseBenchmark {
 		}
 	}
 
-	private static boolean equalsIgnoreCase(CharSequence seq, String lcString) {
+	/*
+	 * Identifiers of different lengths, comparing the scalar methods with the
+	 * SWAR one.
+	 */
+
+	@Benchmark
+	public boolean markEqualsIgnoreCaseLength(IgnoreCaseData data) {
+		return checkEquals(equalsIgnoreCase(data.seq, data.lcString));
+	}
+
+	@Benchmark
+	public boolean markEqualsIgnoreCaseLength1(IgnoreCaseData data) {
+		return checkEquals(equalsIgnoreCase1(data.seq, data.lcString));
+	}
+
+	@Benchmark
+	public boolean markEqualsIgnoreCaseLengthSWAR(IgnoreCaseData data) {
+		return checkEquals(equalsIgnoreCaseSWAR(data.seq, data.lcString));
+	}
+
+	static boolean checkEquals(boolean result) {
+		if (!result) {
+			throw new RuntimeException();
+		}
+		return result;
+	}
+
+	static boolean equalsIgnoreCase(CharSequence seq, String lcString) {
 		int len = seq.length();
 		if (lcString.length() != len) {
 			return false;
@@ -175,4 +202,70 @@ public class EqualsIgnoreCaseBenchmark {
 		return true;
 	}
 
+	/**
+	 * Compare eight characters at a time, packed as bytes into a {@code long}.
+	 * <p>
+	 * Blocks that contain non-ASCII characters, as well as the final characters
+	 * that do not fill a block, are compared like {@link #equalsIgnoreCase}.
+	 * </p>
+	 * 
+	 * @param seq      the sequence to compare.
+	 * @param lcString the lower-case string.
+	 * @return {@code true} if the sequence is equal to the string, ignoring the
+	 *         case of {@code seq}.
+	 */
+	static boolean equalsIgnoreCaseSWAR(CharSequence seq, String lcString) {
+		int len = seq.length();
+		if (lcString.length() != len) {
+			return false;
+		}
+		int i = 0;
+		int blockEnd = len - 7;
+		while (i < blockEnd) {
+			long a = 0;
+			long b = 0;
+			int bits = 0;
+			int end = i + 8;
+			for (int j = i; j < end; j++) {
+				char c = seq.charAt(j);
+				char lc = lcString.charAt(j);
+				bits |= c | lc;
+				a = a << 8 | c;
+				b = b << 8 | lc;
+			}
+			if ((bits & 0xff80) != 0) {
+				if (!regionEqualsIgnoreCase(seq, lcString, i, end)) {
+					return false;
+				}
+			} else if (a != b) {
+				/*
+				 * Adding 0x3f sets the high bit of the bytes that are >= 'A', and
+				 * adding 0x25 those that are > 'Z'. No carry is possible as all the
+				 * bytes are below 0x80.
+				 */
+				long upper = (a + 0x3f3f3f3f3f3f3f3fL) & ~(a + 0x2525252525252525L)
+						& 0x8080808080808080L;
+				// Upper-case bytes may differ from the lower-case ones in 0x20
+				if (((a ^ b) & ~(upper >>> 2)) != 0) {
+					return false;
+				}
+			}
+			i = end;
+		}
+		return regionEqualsIgnoreCase(seq, lcString, i, len);
+	}
+
+	static boolean regionEqualsIgnoreCase(CharSequence seq, String lcString, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = seq.charAt(i);
+			char lc = lcString.charAt(i);
+			if (c != lc) {
+				if (Character.isLowerCase(c) || Character.toLowerCase(c) != lc) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
 }
@@ -0,0 +1,73 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A mixed-case identifier and its lower-case version, for case-insensitive
+ * comparisons.
+ */
+@State(Scope.Benchmark)
+public class IgnoreCaseData {
+
+	private static final String ASCII = "abcdefghijklmnopqrstuvwxyz0123456789-_";
+
+	private static final String NON_ASCII = "áéíóúàèñçüöß";
+
+	@Param({ "2", "4", "8", "16", "32", "64", "128", "256" })
+	public int length;
+
+	/**
+	 * {@code ascii} for ASCII-only identifiers, {@code mixed} to have one
+	 * non-ASCII character out of every eight.
+	 */
+	@Param({ "ascii", "mixed" })
+	public String charset;
+
+	StringBuilder seq;
+
+	char[] seqChars;
+
+	String lcString;
+
+	char[] lcChars;
+
+	@Setup(Level.Trial)
+	public void init() {
+		Random random = new Random(length);
+		boolean mixed = "mixed".equals(charset);
+		seq = new StringBuilder(length);
+		StringBuilder lcbuf = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			char lc;
+			if (mixed && i % 8 == 7) {
+				lc = NON_ASCII.charAt(random.nextInt(NON_ASCII.length()));
+			} else {
+				lc = ASCII.charAt(random.nextInt(ASCII.length()));
+			}
+			lcbuf.append(lc);
+			char c = random.nextBoolean() ? Character.toUpperCase(lc) : lc;
+			seq.append(c);
+		}
+		lcString = lcbuf.toString();
+		lcChars = lcString.toCharArray();
+		seqChars = seq.toString().toCharArray();
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the megabytes (10<sup>6</sup> bytes) processed by a benchmark, so that
+ * JMH reports them as a rate (MB/s) next to the primary score.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class MegabyteCounter {
+
+	public double megabytes;
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		megabytes = 0d;
+	}
+
+}
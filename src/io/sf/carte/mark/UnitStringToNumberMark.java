@@ -11,7 +11,11 @@
 
 package io.sf.carte.mark;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
@@ -26,6 +30,43 @@ public class UnitStringToNumberMark {
 
 	private static HashMap<String, Short> unitMap = createUnitMap();
 
+	/*
+	 * Units as they appear in a real style sheet: the text of the sheet, and the
+	 * start/end offsets of each unit in it.
+	 */
+
+	private static final String sheetText = Util.loadFilefromClasspath("/io/sf/carte/mark/css/sample.css");
+
+	private static final char[] sheetChars = sheetText.toCharArray();
+
+	private static final int[] unitOffsets = findUnits(sheetText);
+
+	private static final String[] sheetUnits = unitStrings(sheetText, unitOffsets);
+
+	private static int[] findUnits(String text) {
+		// A number not preceded by an identifier or hash, followed by a unit
+		Pattern pattern = Pattern.compile("(?<![#\\w.-])(?:\\d+\\.?\\d*|\\.\\d+)([a-zA-Z]+|%)");
+		Matcher matcher = pattern.matcher(text);
+		List<Integer> list = new ArrayList<>();
+		while (matcher.find()) {
+			list.add(matcher.start(1));
+			list.add(matcher.end(1));
+		}
+		int[] offsets = new int[list.size()];
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = list.get(i);
+		}
+		return offsets;
+	}
+
+	private static String[] unitStrings(String text, int[] offsets) {
+		String[] units = new String[offsets.length / 2];
+		for (int i = 0; i < units.length; i++) {
+			units[i] = text.substring(offsets[2 * i], offsets[2 * i + 1]).intern();
+		}
+		return units;
+	}
+
 	private static HashMap<String, Short> createUnitMap() {
 		HashMap<String, Short> unitMap = new HashMap<>(37);
 		unitMap.put("%", CSSUnit.CSS_PERCENTAGE);
@@ -146,6 +187,89 @@ public class UnitStringToNumberMark {
 		assert (unit > 2200);
 	}
 
+	@Benchmark
+	public void markSwitch() {
+		int unit = unitFromSwitch("%");
+		unit += unitFromSwitch("em");
+		unit += unitFromSwitch("ex");
+		unit += unitFromSwitch("rem");
+		unit += unitFromSwitch("rex");
+		unit += unitFromSwitch("in");
+		unit += unitFromSwitch("pt");
+		unit += unitFromSwitch("pc");
+		unit += unitFromSwitch("px");
+		unit += unitFromSwitch("deg");
+		unit += unitFromSwitch("turn");
+		unit += unitFromSwitch("ooo");
+		unit += unitFromSwitch("s");
+		unit += unitFromSwitch("ms");
+
+		// px and pt are very frequent
+		for (int i = 0; i < 200; i++) {
+			unit += unitFromSwitch("px");
+			unit += unitFromSwitch("pt");
+		}
+
+		assert (unit > 2200);
+	}
+
+	/*
+	 * The following benchmarks look up the units in the order and frequency
+	 * found in sample.css.
+	 */
+
+	@Benchmark
+	public int markSheetHashMap() {
+		int unit = 0;
+		for (String unitString : sheetUnits) {
+			unit += unitFromStringHashMap(unitString);
+		}
+		return unit;
+	}
+
+	/**
+	 * Look up the units from the sheet text, like a tokenizer would do if it
+	 * uses the <code>HashMap</code>.
+	 * 
+	 * @return the sum of the units.
+	 */
+	@Benchmark
+	public int markSheetHashMapSubstring() {
+		int unit = 0;
+		for (int i = 0; i < unitOffsets.length; i += 2) {
+			unit += unitFromStringHashMap(sheetText.substring(unitOffsets[i], unitOffsets[i + 1]));
+		}
+		return unit;
+	}
+
+	@Benchmark
+	public int markSheetEquals() {
+		int unit = 0;
+		for (String unitString : sheetUnits) {
+			unit += unitFromStringEQUALS(unitString);
+		}
+		return unit;
+	}
+
+	@Benchmark
+	public int markSheetSwitchCharSequence() {
+		int unit = 0;
+		for (int i = 0; i < unitOffsets.length; i += 2) {
+			unit += unitFromSwitch(sheetText, unitOffsets[i], unitOffsets[i + 1]);
+		}
+		return unit;
+	}
+
+	@Benchmark
+	public int markSheetSwitchChars() {
+		int unit = 0;
+		for (int i = 0; i < unitOffsets.length; i += 2) {
+			int start = unitOffsets[i];
+			unit += unitFromSwitch(sheetChars, start, unitOffsets[i + 1] - start);
+		}
+		return unit;
+	}
+
 	/**
 	 * Retrieves the CSS unit associated to the given unit string.
 	 * 
@@ -256,4 +380,157 @@ public class UnitStringToNumberMark {
 		return CSSUnit.CSS_OTHER;
 	}
 
+	/**
+	 * Retrieves the CSS unit associated to the given unit string.
+	 * 
+	 * @param unit the unit string.
+	 * @return the associated CSS unit, or <code>CSS_OTHER</code> if the unit is
+	 *         not known.
+	 */
+	public static short unitFromSwitch(CharSequence unit) {
+		return unitFromSwitch(unit, 0, unit.length());
+	}
+
+	/**
+	 * Retrieves the CSS unit associated to the given subsequence, without
+	 * allocating a string.
+	 * 
+	 * @param seq   the sequence that contains the unit.
+	 * @param start the index where the unit starts.
+	 * @param end   the index after the last character of the unit.
+	 * @return the associated CSS unit, or <code>CSS_OTHER</code> if the unit is
+	 *         not known.
+	 */
+	public static short unitFromSwitch(CharSequence seq, int start, int end) {
+		if (end - start > 4) {
+			return CSSUnit.CSS_OTHER;
+		}
+		int key = 0;
+		for (int i = start; i < end; i++) {
+			char c = seq.charAt(i);
+			if (c == 0 || c > 0x7f) {
+				return CSSUnit.CSS_OTHER;
+			}
+			key = key << 8 | c;
+		}
+		return unitFromKey(key);
+	}
+
+	/**
+	 * Retrieves the CSS unit associated to the given slice of a char array.
+	 * 
+	 * @param buf the array that contains the unit.
+	 * @param off the offset where the unit starts.
+	 * @param len the length of the unit.
+	 * @return the associated CSS unit, or <code>CSS_OTHER</code> if the unit is
+	 *         not known.
+	 */
+	public static short unitFromSwitch(char[] buf, int off, int len) {
+		if (len > 4) {
+			return CSSUnit.CSS_OTHER;
+		}
+		int key = 0;
+		int end = off + len;
+		for (int i = off; i < end; i++) {
+			char c = buf[i];
+			if (c == 0 || c > 0x7f) {
+				return CSSUnit.CSS_OTHER;
+			}
+			key = key << 8 | c;
+		}
+		return unitFromKey(key);
+	}
+
+	/**
+	 * Retrieves the CSS unit associated to the given key.
+	 * <p>
+	 * All the units have at most four ASCII characters, which are packed into
+	 * the key one byte per character. That is a perfect hash with no collisions,
+	 * and the <code>switch</code> is compiled to a binary search.
+	 * </p>
+	 * 
+	 * @param key the packed unit characters.
+	 * @return the associated CSS unit, or <code>CSS_OTHER</code> if the unit is
+	 *         not known.
+	 */
+	private static short unitFromKey(int key) {
+		switch (key) {
+		case '%':
+			return CSSUnit.CSS_PERCENTAGE;
+		case 'e' << 8 | 'm':
+			return CSSUnit.CSS_EM;
+		case 'e' << 8 | 'x':
+			return CSSUnit.CSS_EX;
+		case 'c' << 16 | 'a' << 8 | 'p':
+			return CSSUnit.CSS_CAP;
+		case 'c' << 8 | 'h':
+			return CSSUnit.CSS_CH;
+		case 'l' << 8 | 'h':
+			return CSSUnit.CSS_LH;
+		case 'i' << 8 | 'c':
+			return CSSUnit.CSS_IC;
+		case 'r' << 16 | 'e' << 8 | 'm':
+			return CSSUnit.CSS_REM;
+		case 'r' << 16 | 'e' << 8 | 'x':
+			return CSSUnit.CSS_REX;
+		case 'r' << 16 | 'c' << 8 | 'h':
+			return CSSUnit.CSS_RCH;
+		case 'r' << 16 | 'i' << 8 | 'c':
+			return CSSUnit.CSS_RIC;
+		case 'r' << 16 | 'l' << 8 | 'h':
+			return CSSUnit.CSS_RLH;
+		case 'v' << 8 | 'w':
+			return CSSUnit.CSS_VW;
+		case 'v' << 8 | 'h':
+			return CSSUnit.CSS_VH;
+		case 'v' << 8 | 'i':
+			return CSSUnit.CSS_VI;
+		case 'v' << 8 | 'b':
+			return CSSUnit.CSS_VB;
+		case 'v' << 24 | 'm' << 16 | 'i' << 8 | 'n':
+			return CSSUnit.CSS_VMIN;
+		case 'v' << 24 | 'm' << 16 | 'a' << 8 | 'x':
+			return CSSUnit.CSS_VMAX;
+		case 'c' << 8 | 'm':
+			return CSSUnit.CSS_CM;
+		case 'm' << 8 | 'm':
+			return CSSUnit.CSS_MM;
+		case 'q':
+			return CSSUnit.CSS_QUARTER_MM;
+		case 'i' << 8 | 'n':
+			return CSSUnit.CSS_IN;
+		case 'p' << 8 | 't':
+			return CSSUnit.CSS_PT;
+		case 'p' << 8 | 'c':
+			return CSSUnit.CSS_PC;
+		case 'p' << 8 | 'x':
+			return CSSUnit.CSS_PX;
+		case 'd' << 16 | 'e' << 8 | 'g':
+			return CSSUnit.CSS_DEG;
+		case 'g' << 24 | 'r' << 16 | 'a' << 8 | 'd':
+			return CSSUnit.CSS_GRAD;
+		case 'r' << 16 | 'a' << 8 | 'd':
+			return CSSUnit.CSS_RAD;
+		case 't' << 24 | 'u' << 16 | 'r' << 8 | 'n':
+			return CSSUnit.CSS_TURN;
+		case 's':
+			return CSSUnit.CSS_S;
+		case 'm' << 8 | 's':
+			return CSSUnit.CSS_MS;
+		case 'h' << 8 | 'z':
+			return CSSUnit.CSS_HZ;
+		case 'k' << 16 | 'h' << 8 | 'z':
+			return CSSUnit.CSS_KHZ;
+		case 'd' << 16 | 'p' << 8 | 'i':
+			return CSSUnit.CSS_DPI;
+		case 'd' << 24 | 'p' << 16 | 'c' << 8 | 'm':
+			return CSSUnit.CSS_DPCM;
+		case 'd' << 24 | 'p' << 16 | 'p' << 8 | 'x':
+			return CSSUnit.CSS_DPPX;
+		case 'f' << 8 | 'r':
+			return CSSUnit.CSS_FR;
+		}
+		return CSSUnit.CSS_OTHER;
+	}
+
 }
@@ -22,6 +22,7 @@ import org.w3c.dom.DOMException;
 
 import io.sf.carte.doc.style.css.om.AbstractCSSStyleSheet;
 import io.sf.carte.doc.style.css.om.DOMCSSStyleSheetFactory;
+import io.sf.carte.mark.MegabyteCounter;
 import io.sf.carte.mark.Util;
 
 @Fork(value = 2, warmups = 1)
@@ -40,4 +41,15 @@ public class CSSOMParseBenchmark {
 		}
 	}
 
+	@Benchmark
+	public void markParseGeneratedStyleSheet(GeneratedSheetData data, MegabyteCounter counter)
+			throws DOMException, IOException {
+		DOMCSSStyleSheetFactory factory = new DOMCSSStyleSheetFactory();
+		AbstractCSSStyleSheet css = factory.createStyleSheet(null, null);
+		if (!css.parseStyleSheet(new StringReader(data.documentText))) {
+			throw new DOMException(DOMException.SYNTAX_ERR, "CSS errors.");
+		}
+		counter.megabytes += data.megabytes;
+	}
+
 }
@@ -0,0 +1,135 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.css;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.DOMException;
+
+import io.sf.carte.doc.style.css.om.AbstractCSSStyleSheet;
+import io.sf.carte.doc.style.css.om.DOMCSSStyleSheetFactory;
+import io.sf.carte.mark.Util;
+
+/**
+ * Parse a style sheet concurrently from several threads, either through a
+ * factory that is shared by all the threads or through one factory per thread.
+ * <p>
+ * The scores are aggregated over all the threads (ops/s). The scaling
+ * efficiency at {@code N} threads is {@code score(N) / (N * score(1))}, a value
+ * well below 1 for the shared factory but not for the per-thread one points to
+ * contention in the factory.
+ * </p>
+ */
+@Fork(value = 2, warmups = 1)
+@Measurement(iterations = 6)
+@Warmup(iterations = 6, time = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CSSOMParseThreadsBenchmark {
+
+	private final static String documentText = Util.loadFilefromClasspath("/io/sf/carte/mark/css/sample.css");
+
+	@State(Scope.Benchmark)
+	public static class SharedFactory {
+
+		DOMCSSStyleSheetFactory factory;
+
+		@Setup(Level.Trial)
+		public void init() {
+			factory = new DOMCSSStyleSheetFactory();
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadFactory {
+
+		DOMCSSStyleSheetFactory factory;
+
+		@Setup(Level.Trial)
+		public void init() {
+			factory = new DOMCSSStyleSheetFactory();
+		}
+
+	}
+
+	@Benchmark
+	@Threads(1)
+	public AbstractCSSStyleSheet markParseSharedFactory1(SharedFactory state) throws IOException {
+		return parse(state.factory);
+	}
+
+	@Benchmark
+	@Threads(2)
+	public AbstractCSSStyleSheet markParseSharedFactory2(SharedFactory state) throws IOException {
+		return parse(state.factory);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public AbstractCSSStyleSheet markParseSharedFactory4(SharedFactory state) throws IOException {
+		return parse(state.factory);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public AbstractCSSStyleSheet markParseSharedFactoryMax(SharedFactory state) throws IOException {
+		return parse(state.factory);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public AbstractCSSStyleSheet markParseThreadFactory1(ThreadFactory state) throws IOException {
+		return parse(state.factory);
+	}
+
+	@Benchmark
+	@Threads(2)
+	public AbstractCSSStyleSheet markParseThreadFactory2(ThreadFactory state) throws IOException {
+		return parse(state.factory);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public AbstractCSSStyleSheet markParseThreadFactory4(ThreadFactory state) throws IOException {
+		return parse(state.factory);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public AbstractCSSStyleSheet markParseThreadFactoryMax(ThreadFactory state) throws IOException {
+		return parse(state.factory);
+	}
+
+	private static AbstractCSSStyleSheet parse(DOMCSSStyleSheetFactory factory) throws IOException {
+		AbstractCSSStyleSheet css = factory.createStyleSheet(null, null);
+		if (!css.parseStyleSheet(new StringReader(documentText))) {
+			throw new DOMException(DOMException.SYNTAX_ERR, "CSS errors.");
+		}
+		return css;
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.css;
+
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A generated style sheet of the given size.
+ */
+@State(Scope.Benchmark)
+public class GeneratedSheetData {
+
+	/**
+	 * The approximate size of the sheet, in kilobytes.
+	 */
+	@Param({ "10", "100", "1000", "10000" })
+	public int sizeKB;
+
+	String documentText;
+
+	/**
+	 * The size of the sheet encoded as UTF-8, in megabytes.
+	 */
+	double megabytes;
+
+	@Setup(Level.Trial)
+	public void init() {
+		documentText = new StyleSheetGenerator(0x5eed).generate(sizeKB * 1024);
+		megabytes = documentText.getBytes(StandardCharsets.UTF_8).length * 1e-6;
+	}
+
+}
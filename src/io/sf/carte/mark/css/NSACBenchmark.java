@@ -27,6 +27,7 @@ import io.sf.carte.doc.style.css.nsac.PageSelectorList;
 import io.sf.carte.doc.style.css.nsac.Parser;
 import io.sf.carte.doc.style.css.nsac.ParserControl;
 import io.sf.carte.doc.style.css.nsac.SelectorList;
+import io.sf.carte.mark.MegabyteCounter;
 import io.sf.carte.mark.Util;
 
 @Fork(value = 2, warmups = 1)
@@ -44,6 +45,16 @@ public class NSACBenchmark {
 		cssParser.parseStyleSheet(new StringReader(documentText));
 	}
 
+	@Benchmark
+	public void markSACParseGenerated(GeneratedSheetData data, MegabyteCounter counter)
+			throws IOException {
+		Parser cssParser = new io.sf.carte.doc.style.css.parser.CSSParser();
+		BenchmarkDocumentHandler handler = new BenchmarkDocumentHandler();
+		cssParser.setDocumentHandler(handler);
+		cssParser.parseStyleSheet(new StringReader(data.documentText));
+		counter.megabytes += data.megabytes;
+	}
+
 	static class BenchmarkDocumentHandler implements CSSHandler {
 
 		// To avoid the effect of possible optimizations, put a counter
@@ -0,0 +1,156 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.css;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.NodeList;
+
+import io.sf.carte.doc.style.css.CSSElement;
+import io.sf.carte.doc.style.css.nsac.Parser;
+import io.sf.carte.doc.style.css.nsac.SelectorList;
+import io.sf.carte.mark.dom.DOMData;
+import io.sf.carte.mark.dom.DOMDataSmall;
+import io.sf.carte.mark.dom.DocumentData;
+
+/**
+ * Match selectors of different kinds against the elements of the css4j DOM
+ * documents.
+ * <p>
+ * Each invocation matches the selector against one element, cycling through all
+ * the elements of the document, so the score is the time per match.
+ * </p>
+ * <p>
+ * The type selector is the tag name of the document data. The mondial document
+ * has no {@code class} attributes, so with that document the {@code class} kind
+ * never matches, and only measures the rejection of the element.
+ * </p>
+ */
+@Fork(value = 2, warmups = 1)
+@Measurement(iterations = 6)
+@Warmup(iterations = 6)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SelectorMatchBenchmark {
+
+	/**
+	 * The selectors for {@code xhtml1.xml}, in the order of {@code KINDS}.
+	 */
+	private static final String[] SMALL_SELECTORS = { ".grouping", "#ToC",
+			"[href^=\"http\"]", "div ul li", "ul > li", "li:nth-child(2n+1)",
+			":is(h1, h2, h3, h4) a", "div:has(> ul li)" };
+
+	/**
+	 * The selectors for the mondial document, in the order of {@code KINDS}.
+	 */
+	private static final String[] SELECTORS = { ".capital", "#f0_136",
+			"[population^=\"1\"]", "country province city name", "country > city > population",
+			"city:nth-child(2n+1)", ":is(country, province) > city",
+			"country:has(> city located_at)" };
+
+	/**
+	 * The kinds of selector other than {@code type}.
+	 */
+	private static final String[] KINDS = { "class", "id", "attribute", "descendant", "child",
+			"nthChild", "is", "has" };
+
+	/**
+	 * The elements of a document and the selector to match.
+	 */
+	public static abstract class MatchState {
+
+		@Param({ "type", "class", "id", "attribute", "descendant", "child", "nthChild", "is",
+				"has" })
+		public String kind;
+
+		CSSElement[] elements;
+
+		SelectorList selectors;
+
+		private int index;
+
+		void init(DocumentData data, String[] selectorTexts) {
+			NodeList list = data.getDOMDocument().getElementsByTagName("*");
+			int len = list.getLength();
+			elements = new CSSElement[len];
+			for (int i = 0; i < len; i++) {
+				elements[i] = (CSSElement) list.item(i);
+			}
+
+			String selectorText;
+			if ("type".equals(kind)) {
+				selectorText = data.getTagName();
+			} else {
+				int idx = 0;
+				while (!KINDS[idx].equals(kind)) {
+					idx++;
+				}
+				selectorText = selectorTexts[idx];
+			}
+			Parser parser = new io.sf.carte.doc.style.css.parser.CSSParser();
+			selectors = parser.parseSelectors(selectorText);
+			index = 0;
+		}
+
+		CSSElement nextElement() {
+			CSSElement element = elements[index];
+			if (++index == elements.length) {
+				index = 0;
+			}
+			return element;
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class SmallMatchState extends MatchState {
+
+		@Setup(Level.Trial)
+		public void init(DOMDataSmall data) {
+			init(data, SMALL_SELECTORS);
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class LargeMatchState extends MatchState {
+
+		@Setup(Level.Trial)
+		public void init(DOMData data) {
+			init(data, SELECTORS);
+		}
+
+	}
+
+	@Benchmark
+	public boolean markMatchSmall(SmallMatchState state) {
+		return state.nextElement().matches(state.selectors, null);
+	}
+
+	@Benchmark
+	public boolean markMatch(LargeMatchState state) {
+		return state.nextElement().matches(state.selectors, null);
+	}
+
+}
@@ -0,0 +1,232 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.css;
+
+import java.util.Random;
+
+/**
+ * Generates valid style sheets of approximately the requested size.
+ * <p>
+ * The output depends only on the seed and the size, so the same sheet is
+ * obtained in every run. It contains plain rules with long selector lists,
+ * custom properties and nested {@code @media} and {@code @supports} rules.
+ * </p>
+ */
+public class StyleSheetGenerator {
+
+	private static final String[] TYPES = { "div", "span", "p", "a", "ul", "li", "table", "td", "h1",
+			"h2", "section", "article", "nav", "header", "footer", "img", "input", "button", "label",
+			"form" };
+
+	private static final String[] WORDS = { "main", "nav", "item", "content", "header", "footer",
+			"btn", "card", "row", "col", "active", "hidden", "title", "link", "icon", "list", "grid",
+			"panel", "menu", "modal" };
+
+	private static final String[] PSEUDO = { ":hover", ":focus", ":first-child", ":last-child",
+			":nth-child(2n+1)", ":not(.disabled)", "::before", "::after" };
+
+	private static final String[] COLORS = { "#fff", "#000", "#336699", "#e0e0e0", "red", "navy",
+			"rgb(20 40 60)", "rgb(255 255 255/0.5)", "transparent", "currentColor" };
+
+	private static final String[] DISPLAY = { "block", "inline", "inline-block", "flex", "grid",
+			"none" };
+
+	private static final String[] MEDIA = { "screen", "print", "screen and (min-width: 600px)",
+			"(max-width: 1024px)", "(orientation: landscape)", "(prefers-color-scheme: dark)" };
+
+	private static final String[] SUPPORTS = { "(display: grid)", "(display: flex)",
+			"(position: sticky)", "not (display: grid)", "(display: grid) and (gap: 1em)" };
+
+	private final Random random;
+
+	private final StringBuilder buf = new StringBuilder(4096);
+
+	private int customPropertyCount = 0;
+
+	public StyleSheetGenerator(long seed) {
+		super();
+		random = new Random(seed);
+	}
+
+	/**
+	 * Generate a style sheet.
+	 *
+	 * @param length the approximate length of the sheet, in characters.
+	 * @return the style sheet text.
+	 */
+	public String generate(int length) {
+		buf.setLength(0);
+		buf.ensureCapacity(length + 1024);
+		customPropertyCount = 0;
+
+		customPropertyRule(8);
+
+		while (buf.length() < length) {
+			int choice = random.nextInt(20);
+			if (choice == 0) {
+				buf.append("@media ").append(pick(MEDIA)).append(" {\n");
+				nestedRules(0);
+				buf.append("}\n");
+			} else if (choice == 1) {
+				buf.append("@supports ").append(pick(SUPPORTS)).append(" {\n");
+				nestedRules(0);
+				buf.append("}\n");
+			} else if (choice == 2) {
+				customPropertyRule(1 + random.nextInt(6));
+			} else {
+				rule();
+			}
+		}
+
+		return buf.toString();
+	}
+
+	private void nestedRules(int depth) {
+		int n = 1 + random.nextInt(6);
+		for (int i = 0; i < n; i++) {
+			if (depth < 2 && random.nextInt(6) == 0) {
+				if (random.nextBoolean()) {
+					buf.append("@media ").append(pick(MEDIA)).append(" {\n");
+				} else {
+					buf.append("@supports ").append(pick(SUPPORTS)).append(" {\n");
+				}
+				nestedRules(depth + 1);
+				buf.append("}\n");
+			} else {
+				rule();
+			}
+		}
+	}
+
+	private void customPropertyRule(int count) {
+		buf.append(":root {");
+		for (int i = 0; i < count; i++) {
+			buf.append("--").append(pick(WORDS)).append('-').append(customPropertyCount++)
+					.append(": ");
+			if (random.nextBoolean()) {
+				buf.append(pick(COLORS));
+			} else {
+				buf.append(random.nextInt(64)).append("px");
+			}
+			buf.append(';');
+		}
+		buf.append("}\n");
+	}
+
+	private void rule() {
+		// Selector lists up to 12 selectors long
+		int selectors = random.nextInt(4) == 0 ? 4 + random.nextInt(9) : 1 + random.nextInt(3);
+		for (int i = 0; i < selectors; i++) {
+			if (i != 0) {
+				buf.append(",\n");
+			}
+			selector();
+		}
+
+		buf.append(" {");
+		int decls = 2 + random.nextInt(9);
+		for (int i = 0; i < decls; i++) {
+			declaration();
+		}
+		buf.append("}\n");
+	}
+
+	private void selector() {
+		int compounds = 1 + random.nextInt(4);
+		for (int i = 0; i < compounds; i++) {
+			if (i != 0) {
+				int comb = random.nextInt(4);
+				if (comb == 0) {
+					buf.append(" > ");
+				} else if (comb == 1) {
+					buf.append(" + ");
+				} else {
+					buf.append(' ');
+				}
+			}
+			compound();
+		}
+		if (random.nextInt(5) == 0) {
+			buf.append(pick(PSEUDO));
+		}
+	}
+
+	private void compound() {
+		switch (random.nextInt(6)) {
+		case 0:
+			buf.append(pick(TYPES));
+			break;
+		case 1:
+			buf.append('.').append(pick(WORDS)).append('-').append(pick(WORDS));
+			break;
+		case 2:
+			buf.append(pick(TYPES)).append('.').append(pick(WORDS));
+			break;
+		case 3:
+			buf.append('#').append(pick(WORDS)).append(random.nextInt(100));
+			break;
+		case 4:
+			buf.append(pick(TYPES)).append("[data-").append(pick(WORDS)).append("=\"")
+					.append(pick(WORDS)).append("\"]");
+			break;
+		default:
+			buf.append(pick(TYPES)).append(":not(.").append(pick(WORDS)).append(')');
+		}
+	}
+
+	private void declaration() {
+		switch (random.nextInt(10)) {
+		case 0:
+			buf.append("color:").append(pick(COLORS));
+			break;
+		case 1:
+			buf.append("background-color:").append(pick(COLORS));
+			break;
+		case 2:
+			buf.append("margin:").append(random.nextInt(20)).append("px ")
+					.append(random.nextInt(20)).append("px");
+			break;
+		case 3:
+			buf.append("padding:").append(random.nextInt(10)).append('.').append(random.nextInt(10))
+					.append("em");
+			break;
+		case 4:
+			buf.append("font-size:").append(8 + random.nextInt(24)).append("pt");
+			break;
+		case 5:
+			buf.append("width:calc(").append(random.nextInt(101)).append("% - ")
+					.append(random.nextInt(50)).append("px)");
+			break;
+		case 6:
+			buf.append("display:").append(pick(DISPLAY));
+			break;
+		case 7:
+			buf.append("border:").append(1 + random.nextInt(4)).append("px solid ")
+					.append(pick(COLORS));
+			break;
+		case 8:
+			buf.append("color:var(--").append(pick(WORDS)).append('-')
+					.append(random.nextInt(customPropertyCount)).append(", ")
+					.append(pick(COLORS)).append(')');
+			break;
+		default:
+			buf.append("line-height:").append(1 + random.nextInt(2)).append('.')
+					.append(random.nextInt(10));
+		}
+		buf.append(';');
+	}
+
+	private String pick(String[] array) {
+		return array[random.nextInt(array.length)];
+	}
+
+}
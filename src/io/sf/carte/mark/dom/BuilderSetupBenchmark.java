@@ -0,0 +1,126 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.dom4j.io.SAXReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.bootstrap.DOMImplementationRegistry;
+import org.xml.sax.SAXException;
+
+import io.sf.carte.doc.dom.CSSDOMImplementation;
+import io.sf.carte.doc.dom.XMLDocumentBuilder;
+import io.sf.carte.doc.dom4j.XHTMLDocumentFactory;
+import io.sf.carte.doc.xml.dtd.DefaultEntityResolver;
+import nu.validator.htmlparser.common.XmlViolationPolicy;
+import nu.validator.htmlparser.dom.HtmlDocumentBuilder;
+import nu.validator.htmlparser.sax.HtmlParser;
+
+/**
+ * Measure only the setup that {@link XMLBuildBenchmark} and
+ * {@link HTMLBuildBenchmark} perform before parsing, that is, what can be saved
+ * by pooling builders.
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 5)
+@Warmup(iterations = 6, time = 5)
+public class BuilderSetupBenchmark {
+
+	@Benchmark
+	public SAXParserFactory markSAXParserFactory()
+			throws SAXException, ParserConfigurationException {
+		return SAXFactories.createSAXParserFactory();
+	}
+
+	@Benchmark
+	public DOMImplementation markDOMImplementationRegistry()
+			throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+		DOMImplementationRegistry registry = DOMImplementationRegistry.newInstance();
+		return registry.getDOMImplementation("XML 3.0 traversal");
+	}
+
+	@Benchmark
+	public DefaultEntityResolver markDefaultEntityResolver() {
+		return new DefaultEntityResolver();
+	}
+
+	@Benchmark
+	public DocumentBuilder markSetupPlainJdk() throws ParserConfigurationException {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+		factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+		DocumentBuilder docbuilder = factory.newDocumentBuilder();
+		docbuilder.setEntityResolver(new DefaultEntityResolver());
+		return docbuilder;
+	}
+
+	@Benchmark
+	public XMLDocumentBuilder markSetupJdk() throws SAXException, ParserConfigurationException,
+			ClassNotFoundException, InstantiationException, IllegalAccessException {
+		DOMImplementationRegistry registry = DOMImplementationRegistry.newInstance();
+		DOMImplementation domImpl = registry.getDOMImplementation("XML 3.0 traversal");
+		XMLDocumentBuilder docbuilder = new XMLDocumentBuilder(domImpl,
+				SAXFactories.createSAXParserFactory());
+		docbuilder.setEntityResolver(new DefaultEntityResolver());
+		return docbuilder;
+	}
+
+	@Benchmark
+	public XMLDocumentBuilder markSetupDOM() throws SAXException, ParserConfigurationException {
+		CSSDOMImplementation domImpl = new CSSDOMImplementation();
+		XMLDocumentBuilder docbuilder = new XMLDocumentBuilder(domImpl,
+				SAXFactories.createSAXParserFactory());
+		docbuilder.setEntityResolver(new DefaultEntityResolver());
+		return docbuilder;
+	}
+
+	@Benchmark
+	public SAXReader markSetupCss4jDOM4J() throws SAXException, ParserConfigurationException {
+		SAXReader docbuilder = new SAXReader(XHTMLDocumentFactory.getInstance());
+		docbuilder.setXMLReader(
+				SAXFactories.createSAXParserFactory().newSAXParser().getXMLReader());
+		docbuilder.setEntityResolver(new DefaultEntityResolver());
+		return docbuilder;
+	}
+
+	@Benchmark
+	public HtmlDocumentBuilder markSetupHtmlDOM() {
+		CSSDOMImplementation domImpl = new CSSDOMImplementation();
+		HtmlDocumentBuilder docbuilder = new HtmlDocumentBuilder(domImpl);
+		docbuilder.setIgnoringComments(false);
+		return docbuilder;
+	}
+
+	@Benchmark
+	public XMLDocumentBuilder markSetupHtmlDOMXHTMLBuilder() {
+		CSSDOMImplementation domImpl = new CSSDOMImplementation();
+		HtmlParser parser = new HtmlParser(XmlViolationPolicy.ALTER_INFOSET);
+		parser.setCommentPolicy(XmlViolationPolicy.ALLOW);
+		parser.setXmlnsPolicy(XmlViolationPolicy.ALLOW);
+		XMLDocumentBuilder docbuilder = new XMLDocumentBuilder(domImpl);
+		docbuilder.setHTMLProcessing(true);
+		docbuilder.setXMLReader(parser);
+		return docbuilder;
+	}
+
+}
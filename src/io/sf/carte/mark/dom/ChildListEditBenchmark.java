@@ -0,0 +1,199 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.bootstrap.DOMImplementationRegistry;
+
+import io.sf.carte.doc.dom.CSSDOMImplementation;
+import io.sf.carte.doc.dom4j.XHTMLDocumentFactory;
+
+/**
+ * Edit the child list of an element at random positions, with the JDK, the
+ * css4j DOM, css4j-dom4j and jsoup.
+ * <p>
+ * Each invocation locates three random children by their index, inserts a new
+ * element before the first, removes the second and replaces the third. The
+ * number of children is thus kept constant, and the positions only depend on
+ * the seed.
+ * </p>
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 10)
+@Warmup(iterations = 6, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChildListEditBenchmark {
+
+	private static final long SEED = 5138L;
+
+	public static abstract class ChildList {
+
+		/**
+		 * The number of children of the element.
+		 */
+		@Param({ "1000", "10000", "100000" })
+		public int children;
+
+		Random random;
+
+		void reset() {
+			random = new Random(SEED);
+		}
+
+		int nextIndex() {
+			return random.nextInt(children);
+		}
+
+	}
+
+	public static abstract class W3CChildList extends ChildList {
+
+		Element parent;
+
+		void build(DOMImplementation domImpl) {
+			reset();
+			Document doc = domImpl.createDocument(null, "doc", null);
+			parent = doc.getDocumentElement();
+			for (int i = 0; i < children; i++) {
+				Element element = doc.createElement("element");
+				element.setAttribute("id", "e" + i);
+				parent.appendChild(element);
+			}
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class JdkChildList extends W3CChildList {
+
+		@Setup(Level.Trial)
+		public void init() throws ClassNotFoundException, InstantiationException,
+				IllegalAccessException {
+			DOMImplementationRegistry registry = DOMImplementationRegistry.newInstance();
+			build(registry.getDOMImplementation("XML 3.0 traversal"));
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class DOMChildList extends W3CChildList {
+
+		@Setup(Level.Trial)
+		public void init() {
+			build(new CSSDOMImplementation());
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class DOM4JChildList extends W3CChildList {
+
+		@Setup(Level.Trial)
+		public void init() {
+			build(XHTMLDocumentFactory.getInstance());
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class JsoupChildList extends ChildList {
+
+		org.jsoup.nodes.Element parent;
+
+		@Setup(Level.Trial)
+		public void init() {
+			reset();
+			org.jsoup.nodes.Document doc = Jsoup.parse("<html><body></body></html>");
+			parent = doc.body();
+			for (int i = 0; i < children; i++) {
+				parent.appendElement("element").attr("id", "e" + i);
+			}
+		}
+
+	}
+
+	@Benchmark
+	public Node markEditJdk(JdkChildList list) {
+		return edit(list);
+	}
+
+	@Benchmark
+	public Node markEditDOM(DOMChildList list) {
+		return edit(list);
+	}
+
+	@Benchmark
+	public Node markEditDOM4J(DOM4JChildList list) {
+		return edit(list);
+	}
+
+	@Benchmark
+	public org.jsoup.nodes.Node markEditJsoup(JsoupChildList list) {
+		org.jsoup.nodes.Element parent = list.parent;
+		org.jsoup.nodes.Document doc = parent.ownerDocument();
+
+		org.jsoup.nodes.Node ref = parent.childNode(list.nextIndex());
+		ref.before(doc.createElement("element"));
+
+		parent.childNode(list.nextIndex()).remove();
+
+		org.jsoup.nodes.Node replaced = parent.childNode(list.nextIndex());
+		org.jsoup.nodes.Element element = doc.createElement("element");
+		replaced.replaceWith(element);
+
+		if (parent.childNodeSize() != list.children) {
+			throw new IllegalStateException("Wrong number of children.");
+		}
+		return replaced;
+	}
+
+	private static Node edit(W3CChildList list) {
+		Element parent = list.parent;
+		Document doc = parent.getOwnerDocument();
+		NodeList nodes = parent.getChildNodes();
+
+		Node ref = nodes.item(list.nextIndex());
+		parent.insertBefore(doc.createElement("element"), ref);
+
+		parent.removeChild(nodes.item(list.nextIndex()));
+
+		Node replaced = parent.replaceChild(doc.createElement("element"),
+				nodes.item(list.nextIndex()));
+
+		if (nodes.getLength() != list.children) {
+			throw new IllegalStateException("Wrong number of children.");
+		}
+		return replaced;
+	}
+
+}
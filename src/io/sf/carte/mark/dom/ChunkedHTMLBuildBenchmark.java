@@ -0,0 +1,250 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLFilter;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import io.sf.carte.doc.dom.CSSDOMImplementation;
+import io.sf.carte.doc.dom.XMLDocumentBuilder;
+import io.sf.carte.mark.Util;
+import nu.validator.htmlparser.common.XmlViolationPolicy;
+import nu.validator.htmlparser.dom.HtmlDocumentBuilder;
+import nu.validator.htmlparser.sax.HtmlParser;
+
+/**
+ * Build {@code usage.html} while another thread feeds it in chunks through a
+ * blocking pipe, like a page that arrives through the network.
+ * <p>
+ * The {@code Build} marks give the total build time. The {@code FirstElement}
+ * one gives the time until the parser reports the first element inside
+ * {@code body}, which is the first content that could be styled. At that point
+ * the build is aborted. The element is found by a SAX filter between the parser
+ * and the builder, so that mark is only available for
+ * {@code XMLDocumentBuilder}: {@code HtmlDocumentBuilder} builds the tree
+ * without SAX events, and has no hook for elements.
+ * </p>
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 10)
+@Warmup(iterations = 6, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkedHTMLBuildBenchmark {
+
+	private final static String documentText = Util.loadFilefromClasspath("/io/sf/carte/mark/dom/usage.html");
+
+	/**
+	 * The number of chunks that may be waiting in the pipe.
+	 */
+	private static final int PIPE_CAPACITY = 4;
+
+	@State(Scope.Thread)
+	public static class Feed {
+
+		/**
+		 * The size of each chunk, in characters.
+		 */
+		@Param({ "256", "4096", "65536" })
+		public int chunkSize;
+
+		char[][] chunks;
+
+		ExecutorService producer;
+
+		XMLDocumentBuilder xhtmlBuilder;
+
+		XMLDocumentBuilder xhtmlFirstElementBuilder;
+
+		HtmlDocumentBuilder htmlBuilder;
+
+		final FirstElementFilter firstElementFilter = new FirstElementFilter();
+
+		@Setup(Level.Trial)
+		public void init() {
+			int len = documentText.length();
+			chunks = new char[(len + chunkSize - 1) / chunkSize][];
+			for (int i = 0; i < chunks.length; i++) {
+				int start = i * chunkSize;
+				chunks[i] = documentText.substring(start, Math.min(start + chunkSize, len))
+						.toCharArray();
+			}
+
+			producer = Executors.newSingleThreadExecutor();
+
+			xhtmlBuilder = createXHTMLBuilder(null);
+			xhtmlFirstElementBuilder = createXHTMLBuilder(firstElementFilter);
+
+			htmlBuilder = new HtmlDocumentBuilder(new CSSDOMImplementation());
+			htmlBuilder.setIgnoringComments(false);
+		}
+
+		@TearDown(Level.Trial)
+		public void shutdown() {
+			producer.shutdownNow();
+		}
+
+		private static XMLDocumentBuilder createXHTMLBuilder(XMLFilter filter) {
+			HtmlParser parser = new HtmlParser(XmlViolationPolicy.ALTER_INFOSET);
+			parser.setCommentPolicy(XmlViolationPolicy.ALLOW);
+			parser.setXmlnsPolicy(XmlViolationPolicy.ALLOW);
+			XMLDocumentBuilder builder = new XMLDocumentBuilder(new CSSDOMImplementation());
+			builder.setHTMLProcessing(true);
+			if (filter != null) {
+				filter.setParent(parser);
+				builder.setXMLReader(filter);
+			} else {
+				builder.setXMLReader(parser);
+			}
+			return builder;
+		}
+
+		/**
+		 * Start feeding the document in a producer thread.
+		 *
+		 * @param reader the reader to feed.
+		 * @return the future of the producer task.
+		 */
+		Future<?> feed(ChunkedPipeReader reader) {
+			return producer.submit(() -> {
+				for (char[] chunk : chunks) {
+					if (!reader.put(chunk)) {
+						return null;
+					}
+				}
+				reader.finish();
+				return null;
+			});
+		}
+
+	}
+
+	/**
+	 * Aborts the build when the first element inside {@code body} is found.
+	 */
+	static class FirstElementFilter extends XMLFilterImpl {
+
+		private static final SAXException STOP = new SAXException("First element reached.");
+
+		private boolean inBody;
+
+		boolean called;
+
+		@Override
+		public void startDocument() throws SAXException {
+			inBody = false;
+			called = false;
+			super.startDocument();
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes atts)
+				throws SAXException {
+			if (inBody) {
+				called = true;
+				throw STOP;
+			}
+			if ("body".equals(localName)) {
+				inBody = true;
+			}
+			super.startElement(uri, localName, qName, atts);
+		}
+
+	}
+
+	@Benchmark
+	public Document markBuildDOMXHTMLBuilder(Feed feed)
+			throws IOException, SAXException, InterruptedException, ExecutionException {
+		ChunkedPipeReader reader = new ChunkedPipeReader(PIPE_CAPACITY);
+		Future<?> task = feed.feed(reader);
+		Document doc;
+		try {
+			doc = feed.xhtmlBuilder.parse(new InputSource(reader));
+		} finally {
+			reader.close();
+		}
+		task.get();
+		return checkDocument(doc);
+	}
+
+	@Benchmark
+	public boolean markFirstElementDOMXHTMLBuilder(Feed feed)
+			throws IOException, SAXException, InterruptedException, ExecutionException {
+		ChunkedPipeReader reader = new ChunkedPipeReader(PIPE_CAPACITY);
+		Future<?> task = feed.feed(reader);
+		try {
+			feed.xhtmlFirstElementBuilder.parse(new InputSource(reader));
+		} catch (SAXException e) {
+			if (!feed.firstElementFilter.called) {
+				throw e;
+			}
+		} finally {
+			reader.close();
+		}
+		task.get();
+		return checkFirstElement(feed);
+	}
+
+	@Benchmark
+	public Document markBuildDOM(Feed feed)
+			throws IOException, SAXException, InterruptedException, ExecutionException {
+		ChunkedPipeReader reader = new ChunkedPipeReader(PIPE_CAPACITY);
+		Future<?> task = feed.feed(reader);
+		Document doc;
+		try {
+			doc = feed.htmlBuilder.parse(new InputSource(reader));
+		} finally {
+			reader.close();
+		}
+		task.get();
+		return checkDocument(doc);
+	}
+
+	private static Document checkDocument(Document doc) {
+		if (doc.getDocumentElement() == null) {
+			throw new IllegalStateException("No document element.");
+		}
+		return doc;
+	}
+
+	private static boolean checkFirstElement(Feed feed) {
+		if (!feed.firstElementFilter.called) {
+			throw new IllegalStateException("No element was found inside body.");
+		}
+		return true;
+	}
+
+}
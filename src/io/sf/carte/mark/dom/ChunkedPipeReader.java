@@ -0,0 +1,113 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A reader that blocks until a producer thread supplies the next chunk of text.
+ * <p>
+ * Unlike {@code PipedReader}, it does not poll, and closing it releases a
+ * producer that is waiting for space.
+ * </p>
+ */
+class ChunkedPipeReader extends Reader {
+
+	private static final char[] EOF = new char[0];
+
+	private final BlockingQueue<char[]> queue;
+
+	private char[] chunk;
+
+	private int pos;
+
+	private volatile boolean closed;
+
+	/**
+	 * Construct a reader.
+	 *
+	 * @param capacity the maximum number of chunks that can be waiting to be
+	 *                 read.
+	 */
+	ChunkedPipeReader(int capacity) {
+		super();
+		queue = new ArrayBlockingQueue<>(capacity);
+	}
+
+	/**
+	 * Supply a chunk, waiting for space if necessary. Called by the producer.
+	 *
+	 * @param chunk the chunk, which shall not be modified afterwards.
+	 * @return {@code false} if the reader was closed and no more chunks should be
+	 *         supplied.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	boolean put(char[] chunk) throws InterruptedException {
+		if (closed) {
+			return false;
+		}
+		queue.put(chunk);
+		return !closed;
+	}
+
+	/**
+	 * Signal the end of the text. Called by the producer.
+	 *
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	void finish() throws InterruptedException {
+		put(EOF);
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		if (closed) {
+			throw new IOException("Reader closed.");
+		}
+		if (len == 0) {
+			return 0;
+		}
+		if (chunk == null || pos == chunk.length) {
+			if (chunk == EOF) {
+				return -1;
+			}
+			try {
+				chunk = queue.take();
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException();
+			}
+			pos = 0;
+			if (chunk == EOF) {
+				return -1;
+			}
+		}
+		int remaining = chunk.length - pos;
+		if (len > remaining) {
+			len = remaining;
+		}
+		System.arraycopy(chunk, pos, cbuf, off, len);
+		pos += len;
+		return len;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		// Release a producer waiting for space
+		queue.clear();
+	}
+
+}
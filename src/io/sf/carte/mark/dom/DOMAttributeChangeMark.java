@@ -0,0 +1,270 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import org.jsoup.Jsoup;
+import org.jsoup.select.Elements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.bootstrap.DOMImplementationRegistry;
+
+import io.sf.carte.doc.dom.CSSDOMImplementation;
+import io.sf.carte.doc.dom.DOMElement;
+import io.sf.carte.doc.dom.DOMTokenList;
+import io.sf.carte.doc.dom4j.XHTMLDocumentFactory;
+
+/**
+ * Like {@link DOMChangeMark}, but with several attributes per element, which
+ * are set, overwritten, looked up and removed.
+ * <p>
+ * The attributes are {@code class}, {@code style} (with CSS declarations) and
+ * as many {@code data-*} ones as needed. The css4j DOM and jsoup also add,
+ * look up and remove classes through their class lists.
+ * </p>
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 10)
+@Warmup(iterations = 6, time = 10)
+public class DOMAttributeChangeMark {
+
+	private static final int ELEMENT_COUNT = 20000;
+
+	private static final String[] CLASSES = { "foo", "bar", "baz", "qux" };
+
+	@State(Scope.Thread)
+	public static class Attributes {
+
+		/**
+		 * The number of attributes per element.
+		 */
+		@Param({ "2", "8", "32" })
+		public int attributes;
+
+		String[] names;
+
+		String[] values;
+
+		/**
+		 * The values that overwrite {@code values}.
+		 */
+		String[] newValues;
+
+		@Setup(Level.Trial)
+		public void init() {
+			names = new String[attributes];
+			values = new String[attributes];
+			newValues = new String[attributes];
+			names[0] = "class";
+			values[0] = "value";
+			newValues[0] = "new value";
+			names[1] = "style";
+			values[1] = "color: #000";
+			newValues[1] = "margin: 0";
+			for (int i = 2; i < attributes; i++) {
+				names[i] = "data-attr" + i;
+				values[i] = "value";
+				newValues[i] = "new value";
+			}
+		}
+
+	}
+
+	@Benchmark
+	public int markAttributesJdk(Attributes attrs) {
+		DOMImplementationRegistry registry = null;
+		try {
+			registry = DOMImplementationRegistry.newInstance();
+		} catch (ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e2) {
+		}
+		DOMImplementation domImpl = registry.getDOMImplementation("XML 3.0 traversal");
+		return change(domImpl, attrs);
+	}
+
+	@Benchmark
+	public int markAttributesDOM(Attributes attrs) {
+		CSSDOMImplementation domImpl = new CSSDOMImplementation();
+		return change(domImpl, attrs);
+	}
+
+	@Benchmark
+	public int markAttributesDOM4J(Attributes attrs) {
+		XHTMLDocumentFactory domImpl = XHTMLDocumentFactory.getInstance();
+		return change(domImpl, attrs);
+	}
+
+	@Benchmark
+	public int markClassListDOM() {
+		CSSDOMImplementation domImpl = new CSSDOMImplementation();
+		Document doc = domImpl.createDocument(null, "doc", null);
+		Element root = doc.getDocumentElement();
+
+		for (int i = 0; i < ELEMENT_COUNT; i++) {
+			root.appendChild(doc.createElement("element"));
+		}
+
+		int count = 0;
+		for (int j = 0; j < CLASSES.length; j++) {
+			for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+				((DOMElement) node).getClassList().add(CLASSES[j]);
+			}
+		}
+		for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+			DOMTokenList list = ((DOMElement) node).getClassList();
+			for (String name : CLASSES) {
+				if (list.contains(name)) {
+					count++;
+				}
+			}
+			list.remove(CLASSES[0]);
+		}
+
+		return checkCount(count, ELEMENT_COUNT * CLASSES.length);
+	}
+
+	@Benchmark
+	public int markAttributesJsoup(Attributes attrs) {
+		org.jsoup.nodes.Document doc = Jsoup.parse("<html><body></body></html>");
+		org.jsoup.nodes.Element body = doc.body();
+		if (body == null) {
+			throw new IllegalStateException("Document has no body.");
+		}
+		String[] names = attrs.names;
+
+		for (int i = 0; i < ELEMENT_COUNT; i++) {
+			body.appendElement("element");
+		}
+		Elements children = body.children();
+
+		// Set, then overwrite
+		for (String[] values : new String[][] { attrs.values, attrs.newValues }) {
+			for (org.jsoup.nodes.Element element : children) {
+				for (int i = 0; i < names.length; i++) {
+					element.attr(names[i], values[i]);
+				}
+			}
+		}
+
+		int count = 0;
+		for (org.jsoup.nodes.Element element : children) {
+			for (int i = 0; i < names.length; i++) {
+				if (element.attr(names[i]).startsWith(attrs.newValues[i])) {
+					count++;
+				}
+			}
+		}
+
+		for (org.jsoup.nodes.Element element : children) {
+			for (String name : names) {
+				element.removeAttr(name);
+			}
+		}
+
+		return checkCount(count, ELEMENT_COUNT * names.length);
+	}
+
+	@Benchmark
+	public int markClassListJsoup() {
+		org.jsoup.nodes.Document doc = Jsoup.parse("<html><body></body></html>");
+		org.jsoup.nodes.Element body = doc.body();
+		if (body == null) {
+			throw new IllegalStateException("Document has no body.");
+		}
+
+		for (int i = 0; i < ELEMENT_COUNT; i++) {
+			body.appendElement("element");
+		}
+		Elements children = body.children();
+
+		int count = 0;
+		for (int j = 0; j < CLASSES.length; j++) {
+			for (org.jsoup.nodes.Element element : children) {
+				element.addClass(CLASSES[j]);
+			}
+		}
+		for (org.jsoup.nodes.Element element : children) {
+			for (String name : CLASSES) {
+				if (element.hasClass(name)) {
+					count++;
+				}
+			}
+			element.removeClass(CLASSES[0]);
+		}
+
+		return checkCount(count, ELEMENT_COUNT * CLASSES.length);
+	}
+
+	private static int change(DOMImplementation domImpl, Attributes attrs) {
+		Document doc = domImpl.createDocument(null, "doc", null);
+		Element root = doc.getDocumentElement();
+		if (root == null) {
+			throw new IllegalStateException("Document has no element child.");
+		}
+		String[] names = attrs.names;
+
+		for (int i = 0; i < ELEMENT_COUNT; i++) {
+			root.appendChild(doc.createElement("element"));
+		}
+
+		// Set, then overwrite
+		for (String[] values : new String[][] { attrs.values, attrs.newValues }) {
+			for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+				Element element = (Element) node;
+				for (int i = 0; i < names.length; i++) {
+					element.setAttribute(names[i], values[i]);
+				}
+			}
+		}
+
+		/*
+		 * The css4j DOM may serialize the style attribute from its parsed
+		 * declarations, which could add a trailing semicolon.
+		 */
+		int count = 0;
+		for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+			Element element = (Element) node;
+			for (int i = 0; i < names.length; i++) {
+				if (element.getAttribute(names[i]).startsWith(attrs.newValues[i])) {
+					count++;
+				}
+			}
+		}
+
+		for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+			Element element = (Element) node;
+			for (String name : names) {
+				element.removeAttribute(name);
+			}
+		}
+
+		return checkCount(count, ELEMENT_COUNT * names.length);
+	}
+
+	private static int checkCount(int count, int expected) {
+		if (count != expected) {
+			throw new IllegalStateException(
+					"Expected a count of " + expected + ", obtained " + count);
+		}
+		return count;
+	}
+
+}
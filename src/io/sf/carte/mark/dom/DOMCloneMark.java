@@ -0,0 +1,278 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.jsoup.nodes.Node;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import io.sf.carte.doc.dom4j.XHTMLDocumentFactory;
+
+/**
+ * Deep-clone the mondial and {@code xhtml1.xml} documents, and import the
+ * subtrees of their document elements into a new document, with the JDK, the
+ * css4j DOM, css4j-dom4j and jsoup.
+ * <p>
+ * dom4j does not support {@code importNode}, so its nodes are copied with
+ * {@code clone()} instead, and jsoup clones the nodes and appends them.
+ * </p>
+ * <p>
+ * The last copies are held until the end of each iteration. Then the used heap
+ * is measured after a garbage collection, and compared with the value at the
+ * start of the iteration: the {@code retainedKB} counter divided by
+ * {@code retainedCopies} gives the heap retained by each copy. That figure is
+ * only approximate for the small document, whose copies are not much larger
+ * than the noise of the measurement. Run with {@code -prof gc} for the bytes
+ * allocated per copy.
+ * </p>
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 10)
+@Warmup(iterations = 6, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DOMCloneMark {
+
+	/**
+	 * The number of copies that are held.
+	 */
+	private static final int HELD_COPIES = 16;
+
+	/**
+	 * Holds the last copies, and measures the heap that they retain.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class RetainedHeap {
+
+		/**
+		 * The heap retained by the held copies, in kilobytes.
+		 */
+		public long retainedKB;
+
+		/**
+		 * The number of held copies.
+		 */
+		public long retainedCopies;
+
+		private final Object[] held = new Object[HELD_COPIES];
+
+		private int index;
+
+		private long usedBefore;
+
+		@Setup(Level.Iteration)
+		public void start() {
+			retainedKB = 0;
+			retainedCopies = 0;
+			Arrays.fill(held, null);
+			index = 0;
+			usedBefore = usedHeap();
+		}
+
+		@TearDown(Level.Iteration)
+		public void measure() {
+			long used = usedHeap();
+			int count = 0;
+			for (Object copy : held) {
+				if (copy != null) {
+					count++;
+				}
+			}
+			retainedKB = (used - usedBefore) / 1024;
+			retainedCopies = count;
+			Arrays.fill(held, null);
+		}
+
+		<T> T hold(T copy) {
+			held[index] = copy;
+			index = (index + 1) % HELD_COPIES;
+			return copy;
+		}
+
+		private static long usedHeap() {
+			Runtime runtime = Runtime.getRuntime();
+			System.gc();
+			System.gc();
+			return runtime.totalMemory() - runtime.freeMemory();
+		}
+
+	}
+
+	@Benchmark
+	public Document markCloneJdk(DOMData data, RetainedHeap heap) {
+		return heap.hold(cloneDocument(data.jdkDoc));
+	}
+
+	@Benchmark
+	public Document markCloneDOM(DOMData data, RetainedHeap heap) {
+		return heap.hold(cloneDocument(data.domDoc));
+	}
+
+	@Benchmark
+	public Document markCloneDOM4J(DOMData data, RetainedHeap heap) {
+		return heap.hold(cloneDocument(data.dom4jDoc));
+	}
+
+	@Benchmark
+	public org.jsoup.nodes.Document markCloneJsoup(DOMData data, RetainedHeap heap) {
+		return heap.hold(cloneJsoup(data.jsoupDoc));
+	}
+
+	@Benchmark
+	public Document markCloneJdkSmall(DOMDataSmall data, RetainedHeap heap) {
+		return heap.hold(cloneDocument(data.jdkDoc));
+	}
+
+	@Benchmark
+	public Document markCloneDOMSmall(DOMDataSmall data, RetainedHeap heap) {
+		return heap.hold(cloneDocument(data.domDoc));
+	}
+
+	@Benchmark
+	public Document markCloneDOM4JSmall(DOMDataSmall data, RetainedHeap heap) {
+		return heap.hold(cloneDocument(data.dom4jDoc));
+	}
+
+	@Benchmark
+	public org.jsoup.nodes.Document markCloneJsoupSmall(DOMDataSmall data, RetainedHeap heap) {
+		return heap.hold(cloneJsoup(data.jsoupDoc));
+	}
+
+	@Benchmark
+	public Document markImportJdk(DOMData data, RetainedHeap heap) {
+		return heap.hold(importSubtrees(data.jdkDoc,
+				data.jdkDoc.getImplementation().createDocument(null, null, null)));
+	}
+
+	@Benchmark
+	public Document markImportDOM(DOMData data, RetainedHeap heap) {
+		return heap.hold(importSubtrees(data.domDoc,
+				data.domDoc.getImplementation().createDocument(null, null, null)));
+	}
+
+	@Benchmark
+	public org.dom4j.Document markImportDOM4J(DOMData data, RetainedHeap heap) {
+		return heap.hold(copySubtrees((org.dom4j.Document) data.dom4jDoc));
+	}
+
+	@Benchmark
+	public org.jsoup.nodes.Document markImportJsoup(DOMData data, RetainedHeap heap) {
+		return heap.hold(copySubtrees(data.jsoupDoc));
+	}
+
+	@Benchmark
+	public Document markImportJdkSmall(DOMDataSmall data, RetainedHeap heap) {
+		return heap.hold(importSubtrees(data.jdkDoc,
+				data.jdkDoc.getImplementation().createDocument(null, null, null)));
+	}
+
+	@Benchmark
+	public Document markImportDOMSmall(DOMDataSmall data, RetainedHeap heap) {
+		return heap.hold(importSubtrees(data.domDoc,
+				data.domDoc.getImplementation().createDocument(null, null, null)));
+	}
+
+	@Benchmark
+	public org.dom4j.Document markImportDOM4JSmall(DOMDataSmall data, RetainedHeap heap) {
+		return heap.hold(copySubtrees((org.dom4j.Document) data.dom4jDoc));
+	}
+
+	@Benchmark
+	public org.jsoup.nodes.Document markImportJsoupSmall(DOMDataSmall data, RetainedHeap heap) {
+		return heap.hold(copySubtrees(data.jsoupDoc));
+	}
+
+	private static Document cloneDocument(Document doc) {
+		Document clone = (Document) doc.cloneNode(true);
+		if (clone.getDocumentElement() == null) {
+			throw new IllegalStateException("Clone has no element child.");
+		}
+		return clone;
+	}
+
+	/**
+	 * Import the document element shallowly, then each of its children deeply.
+	 *
+	 * @param source the source document.
+	 * @param target the empty target document.
+	 * @return the target document.
+	 */
+	private static Document importSubtrees(Document source, Document target) {
+		Element root = source.getDocumentElement();
+		Element newRoot = (Element) target.importNode(root, false);
+		target.appendChild(newRoot);
+		for (org.w3c.dom.Node node = root.getFirstChild(); node != null; node = node
+				.getNextSibling()) {
+			newRoot.appendChild(target.importNode(node, true));
+		}
+		if (!newRoot.hasChildNodes()) {
+			throw new IllegalStateException("Nothing was imported.");
+		}
+		return target;
+	}
+
+	private static org.dom4j.Document copySubtrees(org.dom4j.Document source) {
+		org.dom4j.Document target = XHTMLDocumentFactory.getInstance().createDocument();
+		org.dom4j.Element root = source.getRootElement();
+		org.dom4j.Element newRoot = target.addElement(root.getQName());
+		for (org.dom4j.Attribute attr : root.attributes()) {
+			newRoot.add((org.dom4j.Attribute) attr.clone());
+		}
+		for (org.dom4j.Node node : root.content()) {
+			newRoot.add((org.dom4j.Node) node.clone());
+		}
+		if (newRoot.nodeCount() == 0) {
+			throw new IllegalStateException("Nothing was copied.");
+		}
+		return target;
+	}
+
+	private static org.jsoup.nodes.Document cloneJsoup(org.jsoup.nodes.Document doc) {
+		org.jsoup.nodes.Document clone = doc.clone();
+		if (clone.firstElementChild() == null) {
+			throw new IllegalStateException("Clone has no element child.");
+		}
+		return clone;
+	}
+
+	private static org.jsoup.nodes.Document copySubtrees(org.jsoup.nodes.Document source) {
+		org.jsoup.nodes.Document target = new org.jsoup.nodes.Document(source.location());
+		org.jsoup.nodes.Element root = source.firstElementChild();
+		org.jsoup.nodes.Element newRoot = target.appendElement(root.tagName());
+		newRoot.attributes().addAll(root.attributes());
+		for (Node node : root.childNodes()) {
+			newRoot.appendChild(node.clone());
+		}
+		if (newRoot.childNodeSize() == 0) {
+			throw new IllegalStateException("Nothing was copied.");
+		}
+		return target;
+	}
+
+}
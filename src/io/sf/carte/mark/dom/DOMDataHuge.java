@@ -0,0 +1,66 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Generated documents from 10<sup>4</sup> to 10<sup>7</sup> nodes.
+ * <p>
+ * The four implementations hold their own copy of the document, so the largest
+ * size requires a heap of several gigabytes (for example
+ * {@code -jvmArgsAppend -Xmx24g}). Use {@code -p nodes=...} to select smaller
+ * sizes.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class DOMDataHuge extends DocumentData {
+
+	@Param({ "10000", "100000", "1000000", "10000000" })
+	public int nodes;
+
+	@Param({ "6" })
+	public int depth;
+
+	@Param({ "4" })
+	public int fanOut;
+
+	@Param({ "2" })
+	public int attributes;
+
+	/**
+	 * The number of elements that jsoup finds in the document.
+	 */
+	int jsoupElementCount;
+
+	public DOMDataHuge() {
+		super(DocumentGenerator.LEAF_NAME);
+	}
+
+	@Setup(Level.Trial)
+	public void init() {
+		DocumentGenerator generator = new DocumentGenerator(depth, fanOut, attributes);
+		String documentText = generator.generate(nodes);
+		minimumCount = nodes;
+		elementCount = generator.getElementCount();
+		nameCount = generator.getLeafCount();
+		// The generator does not count the root element, and jsoup adds html,
+		// head and body
+		jsoupElementCount = elementCount + 4;
+		init(documentText);
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import io.sf.carte.doc.dom.DOMDocument;
+import io.sf.carte.doc.dom.DOMElement;
+import io.sf.carte.doc.dom.ElementList;
+
+/**
+ * Iterate a live {@code getElementsByTagName} list while elements with that tag
+ * name are appended and removed, so that the list has to be refreshed after
+ * each change.
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 10)
+@Warmup(iterations = 6, time = 10)
+public class DOMLiveListMark {
+
+	private static final int MUTATIONS = 100;
+
+	@Benchmark
+	public void markLiveListJdk(DOMDataSmall data) {
+		NodeList list = data.jdkDoc.getElementsByTagName(data.getTagName());
+		mutateAndCount(data.jdkDoc, list, data);
+	}
+
+	@Benchmark
+	public void markLiveListDOM(DOMDataSmall data) {
+		NodeList list = data.domDoc.getElementsByTagName(data.getTagName());
+		mutateAndCount(data.domDoc, list, data);
+	}
+
+	@Benchmark
+	public void markLiveListDOM4J(DOMDataSmall data) {
+		NodeList list = data.dom4jDoc.getElementsByTagName(data.getTagName());
+		mutateAndCount(data.dom4jDoc, list, data);
+	}
+
+	private static void mutateAndCount(Document doc, NodeList list, DocumentData data) {
+		Node parent = list.item(0).getParentNode();
+		String tagName = data.getTagName();
+		for (int i = 0; i < MUTATIONS; i++) {
+			Element element = doc.createElementNS(parent.getNamespaceURI(), tagName);
+			parent.appendChild(element);
+			checkCount(countElements(list, tagName), data.nameCount + 1);
+			parent.removeChild(element);
+			checkCount(countElements(list, tagName), data.nameCount);
+		}
+	}
+
+	private static int countElements(NodeList list, String tagName) {
+		int len = list.getLength();
+		for (int i = 0; i < len; i++) {
+			Node element = list.item(i);
+			// The following test is silly but could prevent optimizations
+			if (!tagName.equals(element.getNodeName())) {
+				throw new IllegalStateException();
+			}
+		}
+		return len;
+	}
+
+	@Benchmark
+	public void markLiveListDOMit(DOMDataSmall data) {
+		DOMDocument doc = (DOMDocument) data.domDoc;
+		String tagName = data.getTagName();
+		ElementList list = doc.getElementsByTagName(tagName);
+		Node parent = list.item(0).getParentNode();
+		for (int i = 0; i < MUTATIONS; i++) {
+			DOMElement element = doc.createElementNS(parent.getNamespaceURI(), tagName);
+			parent.appendChild(element);
+			checkCount(iterateElements(list, tagName), data.nameCount + 1);
+			parent.removeChild(element);
+			checkCount(iterateElements(list, tagName), data.nameCount);
+		}
+	}
+
+	private static int iterateElements(ElementList list, String tagName) {
+		int count = 0;
+		for (DOMElement element : list) {
+			// The following test is silly but could prevent optimizations
+			if (!tagName.equals(element.getNodeName())) {
+				throw new IllegalStateException();
+			}
+			count++;
+		}
+		return count;
+	}
+
+	private static void checkCount(int count, int expected) {
+		if (count != expected) {
+			throw new IllegalStateException("Expected a count of " + expected + ", obtained " + count);
+		}
+	}
+
+}
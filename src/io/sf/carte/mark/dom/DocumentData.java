@@ -38,13 +38,13 @@ import io.sf.carte.mark.Util;
 
 public class DocumentData {
 
-	final int minimumCount;
+	int minimumCount;
 
 	final String tagName;
 
-	final int nameCount;
+	int nameCount;
 
-	final int elementCount;
+	int elementCount;
 
 	private final String filename;
 
@@ -69,18 +69,44 @@ public class DocumentData {
 		this.nameCount = nameCount;
 	}
 
+	/**
+	 * Constructor for generated documents, which set the counts when they are
+	 * initialized.
+	 * 
+	 * @param tagName the tag name to look for.
+	 */
+	DocumentData(String tagName) {
+		super();
+		this.filename = null;
+		this.compressed = false;
+		this.tagName = tagName;
+	}
+
 	public String getTagName() {
 		return tagName;
 	}
 
+	/**
+	 * Gives the css4j DOM version of the document.
+	 * 
+	 * @return the css4j document.
+	 */
+	public Document getDOMDocument() {
+		return domDoc;
+	}
+
 	public void init() {
-		DefaultEntityResolver entityResolver = new DefaultEntityResolver();
 		final String documentText;
 		if (compressed) {
 			documentText = Util.loadCompressedFilefromClasspath(filename);
 		} else {
 			documentText = Util.loadFilefromClasspath(filename);
 		}
+		init(documentText);
+	}
+
+	void init(String documentText) {
+		DefaultEntityResolver entityResolver = new DefaultEntityResolver();
 		jdkDoc = loadJdkDocument(documentText, entityResolver);
 		dom4jDoc = loadDOM4JDocument(documentText, entityResolver);
 		domDoc = loadDOMDocument(documentText, entityResolver);
@@ -116,7 +142,7 @@ public class DocumentData {
 		return doc;
 	}
 
-	private static Document loadDOMDocument(String documentText, EntityResolver entityResolver) {
+	static Document loadDOMDocument(String documentText, EntityResolver entityResolver) {
 		Document doc;
 		CSSDOMImplementation domImpl = new CSSDOMImplementation();
 		SAXParserFactory factory = SAXParserFactory.newInstance();
@@ -140,7 +166,7 @@ public class DocumentData {
 		return doc;
 	}
 
-	private static Document loadDOM4JDocument(String documentText, EntityResolver entityResolver) {
+	static Document loadDOM4JDocument(String documentText, EntityResolver entityResolver) {
 		Document doc;
 		SAXParserFactory factory = SAXParserFactory.newInstance();
 		factory.setNamespaceAware(true);
@@ -0,0 +1,123 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+/**
+ * Generates XML documents with an exact number of nodes.
+ * <p>
+ * The document element contains as many subtrees as needed to reach the node
+ * count. Each subtree has the given depth and fan-out, its inner elements are
+ * called {@code node} and the elements at the maximum depth are called
+ * {@code item} and contain a text node. No whitespace is added between tags.
+ * </p>
+ */
+class DocumentGenerator {
+
+	static final String LEAF_NAME = "item";
+
+	private final int depth;
+
+	private final int fanOut;
+
+	private final int attributeCount;
+
+	private StringBuilder buf;
+
+	private int remaining;
+
+	private int elementCount;
+
+	private int leafCount;
+
+	/**
+	 * Construct a generator.
+	 *
+	 * @param depth          the depth of each subtree of the document element.
+	 * @param fanOut         the number of children of each inner element.
+	 * @param attributeCount the number of attributes of each element.
+	 */
+	DocumentGenerator(int depth, int fanOut, int attributeCount) {
+		super();
+		this.depth = depth;
+		this.fanOut = fanOut;
+		this.attributeCount = attributeCount;
+	}
+
+	/**
+	 * Generate a document.
+	 *
+	 * @param nodeCount the number of nodes (elements and text) that the document
+	 *                  element shall contain.
+	 * @return the document text.
+	 */
+	String generate(int nodeCount) {
+		buf = new StringBuilder((int) Math.min(Integer.MAX_VALUE - 8,
+				(long) nodeCount * (24 + 12 * attributeCount)));
+		remaining = nodeCount;
+		elementCount = 0;
+		leafCount = 0;
+
+		buf.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<root>");
+		while (remaining > 0) {
+			element(1);
+		}
+		buf.append("</root>");
+
+		String text = buf.toString();
+		buf = null;
+		return text;
+	}
+
+	private void element(int level) {
+		remaining--;
+		elementCount++;
+		boolean leaf = level >= depth;
+		String name = leaf ? LEAF_NAME : "node";
+		buf.append('<').append(name);
+		for (int i = 0; i < attributeCount; i++) {
+			buf.append(" a").append(i).append("=\"v").append(elementCount).append('"');
+		}
+		buf.append('>');
+		if (leaf) {
+			leafCount++;
+			if (remaining > 0) {
+				remaining--;
+				buf.append("text");
+			}
+		} else {
+			for (int i = 0; i < fanOut && remaining > 0; i++) {
+				element(level + 1);
+			}
+		}
+		buf.append("</").append(name).append('>');
+	}
+
+	/**
+	 * Gives the number of elements in the last generated document, excluding the
+	 * document element.
+	 *
+	 * @return the number of elements.
+	 */
+	int getElementCount() {
+		return elementCount;
+	}
+
+	/**
+	 * Gives the number of {@code item} elements in the last generated document.
+	 *
+	 * @return the number of leaf elements.
+	 */
+	int getLeafCount() {
+		return leafCount;
+	}
+
+}
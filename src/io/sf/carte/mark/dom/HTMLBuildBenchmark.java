@@ -20,7 +20,11 @@ import org.dom4j.io.SAXReader;
 import org.jsoup.Jsoup;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.w3c.dom.DOMImplementation;
 import org.w3c.dom.Document;
@@ -44,6 +48,53 @@ public class HTMLBuildBenchmark {
 
 	private final static String documentText = Util.loadFilefromClasspath("/io/sf/carte/mark/dom/usage.html");
 
+	/**
+	 * Builders that are created once and reused across invocations, so that
+	 * their setup is not measured.
+	 */
+	@State(Scope.Thread)
+	public static class WarmBuilders {
+
+		HtmlDocumentBuilder plainJdkBuilder;
+
+		HtmlDocumentBuilder domBuilder;
+
+		XMLDocumentBuilder domXhtmlBuilder;
+
+		HtmlDocumentBuilder css4jDom4jBuilder;
+
+		SAXReader dom4jReader;
+
+		@Setup(Level.Trial)
+		public void init() throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+			DOMImplementationRegistry registry = DOMImplementationRegistry.newInstance();
+			DOMImplementation domImpl = registry.getDOMImplementation("XML 3.0 traversal");
+			plainJdkBuilder = new HtmlDocumentBuilder(domImpl);
+			plainJdkBuilder.setIgnoringComments(false);
+
+			domBuilder = new HtmlDocumentBuilder(new CSSDOMImplementation());
+			domBuilder.setIgnoringComments(false);
+
+			HtmlParser parser = new HtmlParser(XmlViolationPolicy.ALTER_INFOSET);
+			parser.setCommentPolicy(XmlViolationPolicy.ALLOW);
+			parser.setXmlnsPolicy(XmlViolationPolicy.ALLOW);
+			domXhtmlBuilder = new XMLDocumentBuilder(new CSSDOMImplementation());
+			domXhtmlBuilder.setHTMLProcessing(true);
+			domXhtmlBuilder.setXMLReader(parser);
+
+			css4jDom4jBuilder = new HtmlDocumentBuilder(XHTMLDocumentFactory.getInstance());
+			css4jDom4jBuilder.setIgnoringComments(false);
+
+			HtmlParser dom4jParser = new HtmlParser(XmlViolationPolicy.ALTER_INFOSET);
+			dom4jParser.setCommentPolicy(XmlViolationPolicy.ALLOW);
+			dom4jParser.setXmlnsPolicy(XmlViolationPolicy.ALLOW);
+			dom4jReader = new SAXReader(DOMDocumentFactory.getInstance());
+			dom4jReader.setXMLReader(dom4jParser);
+			dom4jReader.setErrorHandler(new PermissiveErrorHandler());
+		}
+
+	}
+
 	@Benchmark
 	public void markBuildPlainJDK() throws Exception {
 		DOMImplementationRegistry registry = DOMImplementationRegistry.newInstance();
@@ -111,6 +162,50 @@ public class HTMLBuildBenchmark {
 		}
 	}
 
+	@Benchmark
+	public void markBuildWarmPlainJDK(WarmBuilders builders) throws IOException, SAXException {
+		InputSource source = new InputSource(new StringReader(documentText));
+		Document doc = builders.plainJdkBuilder.parse(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+	@Benchmark
+	public void markBuildWarmDOM(WarmBuilders builders) throws IOException, SAXException {
+		InputSource source = new InputSource(new StringReader(documentText));
+		Document doc = builders.domBuilder.parse(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+	@Benchmark
+	public void markBuildWarmDOMXHTMLBuilder(WarmBuilders builders) throws IOException, SAXException {
+		InputSource source = new InputSource(new StringReader(documentText));
+		Document doc = builders.domXhtmlBuilder.parse(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+	@Benchmark
+	public void markBuildWarmCss4jDOM4J(WarmBuilders builders) throws IOException, SAXException {
+		InputSource source = new InputSource(new StringReader(documentText));
+		Document doc = builders.css4jDom4jBuilder.parse(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+	@Benchmark
+	public void markBuildWarmDOM4J(WarmBuilders builders) throws DocumentException {
+		Document doc = (Document) builders.dom4jReader.read(new StringReader(documentText));
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
 	@Benchmark
 	public void markBuildJsoup() throws IOException {
 		org.jsoup.nodes.Document doc = Jsoup.parse(documentText);
@@ -0,0 +1,78 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import io.sf.carte.doc.dom.CSSDOMImplementation;
+import io.sf.carte.doc.dom4j.XHTMLDocumentFactory;
+import io.sf.carte.mark.MegabyteCounter;
+import nu.validator.htmlparser.dom.HtmlDocumentBuilder;
+
+/**
+ * Build generated HTML pages of different sizes and malformation rates.
+ * <p>
+ * The {@code megabytes} counter gives the throughput in megabytes of UTF-8
+ * encoded page per second.
+ * </p>
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 10)
+@Warmup(iterations = 6, time = 10)
+public class HTMLCorpusBuildBenchmark {
+
+	@Benchmark
+	public void markBuildDOM(HTMLCorpusData data, MegabyteCounter counter)
+			throws IOException, SAXException {
+		HtmlDocumentBuilder docbuilder = new HtmlDocumentBuilder(new CSSDOMImplementation());
+		docbuilder.setIgnoringComments(false);
+		InputSource source = new InputSource(new StringReader(data.documentText));
+		Document doc = docbuilder.parse(source);
+		if (doc.getDocumentElement() == null) {
+			throw new RuntimeException();
+		}
+		counter.megabytes += data.megabytes;
+	}
+
+	@Benchmark
+	public void markBuildCss4jDOM4J(HTMLCorpusData data, MegabyteCounter counter)
+			throws IOException, SAXException {
+		HtmlDocumentBuilder docbuilder = new HtmlDocumentBuilder(XHTMLDocumentFactory.getInstance());
+		docbuilder.setIgnoringComments(false);
+		InputSource source = new InputSource(new StringReader(data.documentText));
+		Document doc = docbuilder.parse(source);
+		if (doc.getDocumentElement() == null) {
+			throw new RuntimeException();
+		}
+		counter.megabytes += data.megabytes;
+	}
+
+	@Benchmark
+	public void markBuildJsoup(HTMLCorpusData data, MegabyteCounter counter) {
+		org.jsoup.nodes.Document doc = Jsoup.parse(data.documentText);
+		if (doc.body() == null) {
+			throw new RuntimeException();
+		}
+		counter.megabytes += data.megabytes;
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A generated HTML page of the given size and malformation rate.
+ */
+@State(Scope.Benchmark)
+public class HTMLCorpusData {
+
+	/**
+	 * The approximate size of the page, in kilobytes.
+	 */
+	@Param({ "100", "1000", "5000" })
+	public int sizeKB;
+
+	/**
+	 * The probability that an element has a markup error.
+	 */
+	@Param({ "0", "0.02", "0.2" })
+	public double malformation;
+
+	String documentText;
+
+	/**
+	 * The size of the page encoded as UTF-8, in megabytes.
+	 */
+	double megabytes;
+
+	@Setup(Level.Trial)
+	public void init() {
+		documentText = new HtmlPageGenerator(0x5eed, malformation).generate(sizeKB * 1024);
+		megabytes = documentText.getBytes(StandardCharsets.UTF_8).length * 1e-6;
+	}
+
+}
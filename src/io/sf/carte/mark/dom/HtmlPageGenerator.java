@@ -0,0 +1,256 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.util.Random;
+
+/**
+ * Generates HTML pages of approximately the given length, with deeply nested
+ * blocks, lists, tables, inline scripts and, optionally, broken markup.
+ * <p>
+ * The output only depends on the seed, the malformation rate and the length.
+ * The markup errors are drawn from a separate random sequence, so pages with
+ * different malformation rates only differ in the errors.
+ * </p>
+ */
+class HtmlPageGenerator {
+
+	private static final int MAX_DEPTH = 24;
+
+	private static final String[] WORDS = { "lorem", "ipsum", "dolor", "sit", "amet",
+			"consectetur", "adipiscing", "elit", "sed", "do", "eiusmod", "tempor", "incididunt",
+			"ut", "labore", "et", "dolore", "magna", "aliqua" };
+
+	private static final String[] INLINE = { "a", "em", "strong", "span", "code" };
+
+	private final long seed;
+
+	private final double malformation;
+
+	private Random random;
+
+	private Random errors;
+
+	private StringBuilder buf;
+
+	/**
+	 * Construct a generator.
+	 *
+	 * @param seed         the random seed.
+	 * @param malformation the probability that a given element has a markup error,
+	 *                     from 0 to 1.
+	 */
+	HtmlPageGenerator(long seed, double malformation) {
+		super();
+		this.seed = seed;
+		this.malformation = malformation;
+	}
+
+	/**
+	 * Generate a page.
+	 *
+	 * @param length the minimum length of the page.
+	 * @return the page text.
+	 */
+	String generate(int length) {
+		random = new Random(seed);
+		errors = new Random(~seed);
+		buf = new StringBuilder(length + 4096);
+
+		buf.append("<!DOCTYPE html>\n<html lang=\"en\"><head><meta charset=\"utf-8\">")
+				.append("<title>Generated page</title>\n<style>")
+				.append("body{font-family:sans-serif}.nav li{display:inline}.s0 p{margin:0}")
+				.append("</style>\n</head>\n<body>\n<ul class=\"nav\">");
+		for (int i = 0; i < 8; i++) {
+			buf.append("<li><a href=\"/page").append(i).append("\">");
+			words(2);
+			buf.append("</a></li>");
+		}
+		buf.append("</ul>\n");
+
+		int n = 0;
+		while (buf.length() < length) {
+			section(n++);
+		}
+		buf.append("</body>\n</html>\n");
+
+		String text = buf.toString();
+		buf = null;
+		random = null;
+		errors = null;
+		return text;
+	}
+
+	private void section(int n) {
+		buf.append("<div class=\"section s").append(n % 10).append("\" id=\"sec").append(n)
+				.append("\"><h2>");
+		words(4);
+		buf.append("</h2>\n");
+		int blocks = 1 + random.nextInt(4);
+		for (int i = 0; i < blocks; i++) {
+			block(1);
+		}
+		if (random.nextInt(4) == 0) {
+			script(n);
+		}
+		buf.append("</div>\n");
+	}
+
+	private void block(int level) {
+		int kind = level >= MAX_DEPTH ? 0 : random.nextInt(5);
+		switch (kind) {
+		case 0:
+			buf.append("<p>");
+			inline();
+			buf.append("</p>\n");
+			break;
+		case 1:
+			buf.append("<div class=\"c").append(level).append("\">");
+			int children = 1 + random.nextInt(3);
+			for (int i = 0; i < children; i++) {
+				block(level + 1);
+			}
+			if (!malformed()) {
+				buf.append("</div>\n");
+			}
+			break;
+		case 2:
+			buf.append("<ul>");
+			int items = 2 + random.nextInt(4);
+			for (int i = 0; i < items; i++) {
+				buf.append("<li>");
+				if (random.nextBoolean()) {
+					block(level + 1);
+				} else {
+					inline();
+				}
+				buf.append("</li>");
+			}
+			buf.append("</ul>\n");
+			break;
+		case 3:
+			buf.append("<table><tr><th>");
+			words(2);
+			buf.append("</th><th>");
+			words(2);
+			buf.append("</th></tr>");
+			int rows = 1 + random.nextInt(4);
+			for (int i = 0; i < rows; i++) {
+				buf.append("<tr><td>");
+				inline();
+				buf.append("</td><td>").append(random.nextInt(10000)).append("</td></tr>");
+			}
+			buf.append("</table>\n");
+			break;
+		default:
+			buf.append("<article><section>");
+			block(level + 1);
+			buf.append("</section></article>\n");
+		}
+	}
+
+	private void inline() {
+		int count = 2 + random.nextInt(5);
+		for (int i = 0; i < count; i++) {
+			if (malformed()) {
+				malformedInline();
+			}
+			switch (random.nextInt(8)) {
+			case 0:
+				buf.append("<a href=\"https://www.example.com/p?id=").append(random.nextInt(1000))
+						.append("&amp;lang=en\" title=\"");
+				words(2);
+				buf.append("\">");
+				words(2);
+				buf.append("</a> ");
+				break;
+			case 1:
+				buf.append("<img src=\"img").append(random.nextInt(100))
+						.append(".png\" alt=\"image\" width=\"16\" height=\"16\"> ");
+				break;
+			case 2:
+				buf.append("&copy;&nbsp;");
+				words(1);
+				buf.append("<br>");
+				break;
+			case 3:
+				String name = INLINE[random.nextInt(INLINE.length)];
+				buf.append('<').append(name).append('>');
+				words(3);
+				buf.append("</").append(name).append("> ");
+				break;
+			default:
+				words(4);
+				buf.append(' ');
+			}
+		}
+	}
+
+	private void malformedInline() {
+		switch (errors.nextInt(5)) {
+		case 0:
+			// Misnested formatting elements
+			buf.append("<b><i>");
+			words(errors, 2);
+			buf.append("</b></i> ");
+			break;
+		case 1:
+			// Stray end tag
+			buf.append("</span>");
+			words(errors, 2);
+			break;
+		case 2:
+			// Unescaped ampersand and less-than sign
+			buf.append("AT&T a < b & c ");
+			break;
+		case 3:
+			// Unquoted attribute value and duplicate attribute
+			buf.append("<span class=x y class=\"z\">");
+			words(errors, 2);
+			buf.append("</span> ");
+			break;
+		default:
+			// Unclosed inline element
+			buf.append("<em>");
+			words(errors, 2);
+		}
+	}
+
+	private void script(int n) {
+		buf.append("<script>\nvar data").append(n).append(" = [");
+		for (int i = 0; i < 10; i++) {
+			buf.append(random.nextInt(1000)).append(',');
+		}
+		buf.append("0];\nif (data").append(n).append(".length < 20 && window.document) {\n")
+				.append("  document.getElementById('sec").append(n)
+				.append("').insertAdjacentHTML('beforeend', '<p>done<\\/p>');\n}\n</script>\n");
+	}
+
+	private void words(int count) {
+		words(random, count);
+	}
+
+	private void words(Random rnd, int count) {
+		for (int i = 0; i < count; i++) {
+			if (i != 0) {
+				buf.append(' ');
+			}
+			buf.append(WORDS[rnd.nextInt(WORDS.length)]);
+		}
+	}
+
+	private boolean malformed() {
+		// Always draw, so that the errors are at the same places for any rate
+		return errors.nextDouble() < malformation;
+	}
+
+}
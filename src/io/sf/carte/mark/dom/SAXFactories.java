@@ -0,0 +1,49 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.SAXException;
+
+/**
+ * Creates the SAX parser factories used by the css4j document builders.
+ */
+class SAXFactories {
+
+	private SAXFactories() {
+		super();
+	}
+
+	/**
+	 * Create a namespace-aware factory with secure processing, that reports the
+	 * namespace declarations and does not load external entities.
+	 *
+	 * @return the factory.
+	 * @throws SAXException                 if a feature is not recognized.
+	 * @throws ParserConfigurationException if a feature is not supported.
+	 */
+	static SAXParserFactory createSAXParserFactory()
+			throws SAXException, ParserConfigurationException {
+		SAXParserFactory factory = SAXParserFactory.newInstance();
+		factory.setNamespaceAware(true);
+		factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+		factory.setFeature("http://xml.org/sax/features/xmlns-uris", true);
+		factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+		factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+		return factory;
+	}
+
+}
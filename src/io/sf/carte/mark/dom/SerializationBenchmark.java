@@ -0,0 +1,365 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.dom4j.io.OutputFormat;
+import org.dom4j.io.XMLWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.bootstrap.DOMImplementationRegistry;
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSOutput;
+import org.w3c.dom.ls.LSSerializer;
+
+import io.sf.carte.doc.dom.DOMWriter;
+import io.sf.carte.mark.MegabyteCounter;
+
+/**
+ * Serialize the mondial and {@code xhtml1.xml} documents with the css4j DOM,
+ * the JDK ({@code LSSerializer} and identity {@code Transformer}), css4j-dom4j
+ * ({@code XMLWriter}) and jsoup.
+ * <p>
+ * The output goes either to a reused character writer or to a reused byte
+ * stream, according to the {@code sink} parameter. The {@code megabytes}
+ * counter gives the throughput in MB (millions of chars or bytes) per second.
+ * </p>
+ * <p>
+ * The JDK and dom4j serializers neither indent nor trim the text, and neither
+ * does jsoup, whose pretty-printing is disabled. But the css4j DOM serializer
+ * ({@code DOMWriter}) formats its output: it indents the elements and
+ * normalizes the whitespace of the text. It also writes to an internal buffer,
+ * which is then copied to the sink. And jsoup serializes as HTML, for example
+ * writing an end tag for each empty element.
+ * </p>
+ * <p>
+ * To keep the throughputs comparable, before each trial the document is
+ * serialized with all the serializers, and the sizes must not differ from the
+ * {@code LSSerializer} one by more than {@value #SIZE_TOLERANCE}. Run with
+ * {@code -prof gc} to obtain the bytes allocated per serialized document.
+ * </p>
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 10)
+@Warmup(iterations = 6, time = 10)
+public class SerializationBenchmark {
+
+	/**
+	 * The maximum relative difference between the sizes of the outputs.
+	 */
+	static final double SIZE_TOLERANCE = 0.25d;
+
+	/**
+	 * The destination of the serialization, which is reset before each use.
+	 */
+	public static abstract class Output {
+
+		/**
+		 * {@code writer} to serialize to a character writer, {@code stream} to a
+		 * byte stream encoded as UTF-8.
+		 */
+		@Param({ "writer", "stream" })
+		public String sink;
+
+		private CharArrayWriter charWriter;
+
+		private ByteArrayOutputStream byteStream;
+
+		private Writer streamWriter;
+
+		@Setup(Level.Trial)
+		public void init() {
+			charWriter = new CharArrayWriter(1 << 21);
+			byteStream = new ByteArrayOutputStream(1 << 21);
+			streamWriter = new OutputStreamWriter(byteStream, StandardCharsets.UTF_8);
+		}
+
+		boolean isByteStream() {
+			return "stream".equals(sink);
+		}
+
+		/**
+		 * Give the sink as a character writer, which for the byte stream encodes
+		 * to UTF-8.
+		 *
+		 * @return the writer.
+		 */
+		Writer writer() {
+			charWriter.reset();
+			byteStream.reset();
+			return isByteStream() ? streamWriter : charWriter;
+		}
+
+		/**
+		 * Give the byte stream.
+		 *
+		 * @return the byte stream.
+		 */
+		ByteArrayOutputStream stream() {
+			byteStream.reset();
+			return byteStream;
+		}
+
+		/**
+		 * Flush the sink and count its size.
+		 *
+		 * @param counter the counter.
+		 * @throws IOException if an I/O error occurred.
+		 */
+		void count(MegabyteCounter counter) throws IOException {
+			int size;
+			if (isByteStream()) {
+				streamWriter.flush();
+				size = byteStream.size();
+			} else {
+				size = charWriter.size();
+			}
+			if (size == 0) {
+				throw new IllegalStateException("Nothing was serialized.");
+			}
+			counter.megabytes += size * 1e-6;
+		}
+
+		/**
+		 * Serialize the document with each serializer to a character writer, and
+		 * check that the sizes agree with the {@code LSSerializer} one.
+		 *
+		 * @param data the document data.
+		 */
+		void checkSizes(DocumentData data) throws IOException, TransformerException,
+				ClassNotFoundException, InstantiationException, IllegalAccessException {
+			Output probe = new OutputSmall();
+			probe.sink = "writer";
+			probe.init();
+			JdkSerializers jdk = new JdkSerializers();
+			jdk.init();
+
+			MegabyteCounter reference = new MegabyteCounter();
+			serializeLS(data.jdkDoc, jdk, probe, reference);
+
+			MegabyteCounter counter = new MegabyteCounter();
+			serializeTransformer(data.jdkDoc, jdk, probe, counter);
+			checkSize("Transformer", counter, reference);
+			counter.reset();
+			serializeDOM(data.domDoc, probe, counter);
+			checkSize("css4j DOM", counter, reference);
+			counter.reset();
+			serializeDOM4J(data.dom4jDoc, probe, counter);
+			checkSize("dom4j", counter, reference);
+			counter.reset();
+			serializeJsoup(data.jsoupDoc, probe, counter);
+			checkSize("jsoup", counter, reference);
+		}
+
+		private static void checkSize(String serializer, MegabyteCounter counter,
+				MegabyteCounter reference) {
+			double ratio = counter.megabytes / reference.megabytes;
+			if (Math.abs(ratio - 1d) > SIZE_TOLERANCE) {
+				throw new IllegalStateException("The " + serializer + " output is "
+						+ counter.megabytes + " MB, but the LSSerializer one is "
+						+ reference.megabytes + " MB.");
+			}
+		}
+
+	}
+
+	/**
+	 * The output for the mondial document.
+	 */
+	@State(Scope.Thread)
+	public static class OutputLarge extends Output {
+
+		@Setup(Level.Trial)
+		public void check(DOMData data) throws IOException, TransformerException,
+				ClassNotFoundException, InstantiationException, IllegalAccessException {
+			checkSizes(data);
+		}
+
+	}
+
+	/**
+	 * The output for the {@code xhtml1.xml} document.
+	 */
+	@State(Scope.Thread)
+	public static class OutputSmall extends Output {
+
+		@Setup(Level.Trial)
+		public void check(DOMDataSmall data) throws IOException, TransformerException,
+				ClassNotFoundException, InstantiationException, IllegalAccessException {
+			checkSizes(data);
+		}
+
+	}
+
+	/**
+	 * The JDK serializers, which are reused.
+	 */
+	@State(Scope.Thread)
+	public static class JdkSerializers {
+
+		LSSerializer lsSerializer;
+
+		LSOutput lsOutput;
+
+		Transformer transformer;
+
+		@Setup(Level.Trial)
+		public void init() throws ClassNotFoundException, InstantiationException,
+				IllegalAccessException, TransformerException {
+			DOMImplementationLS implLS = (DOMImplementationLS) DOMImplementationRegistry
+					.newInstance().getDOMImplementation("LS");
+			lsSerializer = implLS.createLSSerializer();
+			lsOutput = implLS.createLSOutput();
+			lsOutput.setEncoding("UTF-8");
+			transformer = TransformerFactory.newInstance().newTransformer();
+		}
+
+	}
+
+	@Benchmark
+	public void markSerializeDOM(DOMData data, OutputLarge output, MegabyteCounter counter)
+			throws IOException {
+		serializeDOM(data.domDoc, output, counter);
+	}
+
+	@Benchmark
+	public void markSerializeDOMSmall(DOMDataSmall data, OutputSmall output,
+			MegabyteCounter counter) throws IOException {
+		serializeDOM(data.domDoc, output, counter);
+	}
+
+	@Benchmark
+	public void markSerializeJdkLS(DOMData data, JdkSerializers jdk, OutputLarge output,
+			MegabyteCounter counter) throws IOException {
+		serializeLS(data.jdkDoc, jdk, output, counter);
+	}
+
+	@Benchmark
+	public void markSerializeJdkLSSmall(DOMDataSmall data, JdkSerializers jdk, OutputSmall output,
+			MegabyteCounter counter) throws IOException {
+		serializeLS(data.jdkDoc, jdk, output, counter);
+	}
+
+	@Benchmark
+	public void markSerializeJdkTransformer(DOMData data, JdkSerializers jdk, OutputLarge output,
+			MegabyteCounter counter) throws IOException, TransformerException {
+		serializeTransformer(data.jdkDoc, jdk, output, counter);
+	}
+
+	@Benchmark
+	public void markSerializeJdkTransformerSmall(DOMDataSmall data, JdkSerializers jdk,
+			OutputSmall output, MegabyteCounter counter) throws IOException, TransformerException {
+		serializeTransformer(data.jdkDoc, jdk, output, counter);
+	}
+
+	@Benchmark
+	public void markSerializeDOM4J(DOMData data, OutputLarge output, MegabyteCounter counter)
+			throws IOException {
+		serializeDOM4J(data.dom4jDoc, output, counter);
+	}
+
+	@Benchmark
+	public void markSerializeDOM4JSmall(DOMDataSmall data, OutputSmall output,
+			MegabyteCounter counter) throws IOException {
+		serializeDOM4J(data.dom4jDoc, output, counter);
+	}
+
+	@Benchmark
+	public void markSerializeJsoup(DOMData data, OutputLarge output, MegabyteCounter counter)
+			throws IOException {
+		serializeJsoup(data.jsoupDoc, output, counter);
+	}
+
+	@Benchmark
+	public void markSerializeJsoupSmall(DOMDataSmall data, OutputSmall output,
+			MegabyteCounter counter) throws IOException {
+		serializeJsoup(data.jsoupDoc, output, counter);
+	}
+
+	private static void serializeDOM(Document doc, Output output, MegabyteCounter counter)
+			throws IOException {
+		Writer wri = output.writer();
+		// Indented, and with the whitespace of the text normalized
+		wri.write(DOMWriter.writeTree(doc));
+		output.count(counter);
+	}
+
+	private static void serializeLS(Document doc, JdkSerializers jdk, Output output,
+			MegabyteCounter counter) throws IOException {
+		LSOutput lsOutput = jdk.lsOutput;
+		if (output.isByteStream()) {
+			lsOutput.setCharacterStream(null);
+			lsOutput.setByteStream(output.stream());
+		} else {
+			lsOutput.setByteStream(null);
+			lsOutput.setCharacterStream(output.writer());
+		}
+		if (!jdk.lsSerializer.write(doc, lsOutput)) {
+			throw new IllegalStateException("Serialization failed.");
+		}
+		output.count(counter);
+	}
+
+	private static void serializeTransformer(Document doc, JdkSerializers jdk, Output output,
+			MegabyteCounter counter) throws IOException, TransformerException {
+		StreamResult result;
+		if (output.isByteStream()) {
+			result = new StreamResult(output.stream());
+		} else {
+			result = new StreamResult(output.writer());
+		}
+		jdk.transformer.transform(new DOMSource(doc), result);
+		output.count(counter);
+	}
+
+	private static void serializeDOM4J(Document doc, Output output, MegabyteCounter counter)
+			throws IOException {
+		XMLWriter xmlWriter;
+		if (output.isByteStream()) {
+			xmlWriter = new XMLWriter(output.stream(), new OutputFormat());
+		} else {
+			xmlWriter = new XMLWriter(output.writer(), new OutputFormat());
+		}
+		xmlWriter.write((org.dom4j.Document) doc);
+		xmlWriter.flush();
+		output.count(counter);
+	}
+
+	private static void serializeJsoup(org.jsoup.nodes.Document doc, Output output,
+			MegabyteCounter counter) throws IOException {
+		Writer wri = output.writer();
+		doc.outputSettings().prettyPrint(false);
+		doc.html(wri);
+		output.count(counter);
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import io.sf.carte.doc.dom.CSSDOMImplementation;
+import io.sf.carte.doc.dom4j.XHTMLDocumentFactory;
+import io.sf.carte.doc.style.css.CSSElement;
+import io.sf.carte.doc.xml.dtd.DefaultEntityResolver;
+import io.sf.carte.mark.Util;
+import nu.validator.htmlparser.dom.HtmlDocumentBuilder;
+
+/**
+ * Compute the style of every element in a document that has {@code sample.css}
+ * attached, with the css4j DOM and the css4j-dom4j {@code XHTMLDocument}.
+ * <p>
+ * The {@code Warm} marks compute the styles of the same document on each
+ * invocation, while the {@code Cold} ones use a new document each time, so they
+ * include the parsing of the style sheets and the setup of the cascade.
+ * </p>
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 10)
+@Warmup(iterations = 6, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StyleComputationBenchmark {
+
+	private final static String sampleCss = Util.loadFilefromClasspath("/io/sf/carte/mark/css/sample.css");
+
+	/**
+	 * A css4j DOM document and a css4j-dom4j document, with {@code sample.css}
+	 * attached.
+	 */
+	public static abstract class StyledDocuments {
+
+		/**
+		 * {@code xhtml1} for {@code xhtml1.xml}, {@code usage} for
+		 * {@code usage.html}.
+		 */
+		@Param({ "xhtml1", "usage" })
+		public String document;
+
+		Document domDoc;
+
+		Document dom4jDoc;
+
+		void build() throws IOException, SAXException {
+			if ("usage".equals(document)) {
+				String documentText = Util.loadFilefromClasspath("/io/sf/carte/mark/dom/usage.html");
+				HtmlDocumentBuilder builder = new HtmlDocumentBuilder(new CSSDOMImplementation());
+				domDoc = builder.parse(new InputSource(new StringReader(documentText)));
+				builder = new HtmlDocumentBuilder(XHTMLDocumentFactory.getInstance());
+				dom4jDoc = builder.parse(new InputSource(new StringReader(documentText)));
+			} else {
+				String documentText = Util.loadFilefromClasspath("/io/sf/carte/mark/dom/xhtml1.xml");
+				DefaultEntityResolver entityResolver = new DefaultEntityResolver();
+				domDoc = DocumentData.loadDOMDocument(documentText, entityResolver);
+				dom4jDoc = DocumentData.loadDOM4JDocument(documentText, entityResolver);
+			}
+			attachStyleSheet(domDoc);
+			attachStyleSheet(dom4jDoc);
+		}
+
+		private static void attachStyleSheet(Document doc) {
+			Element head = (Element) doc.getElementsByTagName("head").item(0);
+			Element style = doc.createElementNS(head.getNamespaceURI(), "style");
+			style.setAttribute("type", "text/css");
+			style.appendChild(doc.createTextNode(sampleCss));
+			head.appendChild(style);
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class WarmDocuments extends StyledDocuments {
+
+		@Setup(Level.Trial)
+		public void init() throws IOException, SAXException {
+			build();
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class ColdDocuments extends StyledDocuments {
+
+		@Setup(Level.Invocation)
+		public void init() throws IOException, SAXException {
+			build();
+		}
+
+	}
+
+	@Benchmark
+	public int markComputedStylesWarmDOM(WarmDocuments docs) {
+		return computeStyles(docs.domDoc);
+	}
+
+	@Benchmark
+	public int markComputedStylesWarmDOM4J(WarmDocuments docs) {
+		return computeStyles(docs.dom4jDoc);
+	}
+
+	@Benchmark
+	public int markComputedStylesColdDOM(ColdDocuments docs) {
+		return computeStyles(docs.domDoc);
+	}
+
+	@Benchmark
+	public int markComputedStylesColdDOM4J(ColdDocuments docs) {
+		return computeStyles(docs.dom4jDoc);
+	}
+
+	private static int computeStyles(Document doc) {
+		NodeList list = doc.getElementsByTagName("*");
+		int len = list.getLength();
+		int count = 0;
+		for (int i = 0; i < len; i++) {
+			CSSElement element = (CSSElement) list.item(i);
+			CSSStyleDeclaration style = element.getComputedStyle(null);
+			count += style.getLength();
+		}
+		if (count == 0) {
+			throw new IllegalStateException("No computed properties.");
+		}
+		return count;
+	}
+
+}
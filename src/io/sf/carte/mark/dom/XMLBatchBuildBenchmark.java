@@ -0,0 +1,256 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import io.sf.carte.doc.dom.CSSDOMImplementation;
+import io.sf.carte.doc.dom.XMLDocumentBuilder;
+import io.sf.carte.doc.xml.dtd.DefaultEntityResolver;
+import io.sf.carte.mark.Util;
+
+/**
+ * Build a batch of documents from a directory, in parallel.
+ * <p>
+ * The documents are built with the css4j DOM, either in a fork-join pool with
+ * as many workers as available processors, or in one virtual thread per
+ * document (requires Java 21 or later). Each pool is used with one
+ * {@code XMLDocumentBuilder} shared by all the tasks, and with one builder
+ * (plus its {@code SAXParserFactory}) per thread. As virtual threads are not
+ * pooled, the thread-local builders are in that case created once per document.
+ * </p>
+ * <p>
+ * The {@code documents} counter gives the documents per second; divide by the
+ * number of cores to obtain the documents/s per core.
+ * </p>
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 10)
+@Warmup(iterations = 6, time = 10)
+public class XMLBatchBuildBenchmark {
+
+	private static DefaultEntityResolver entityResolver = new DefaultEntityResolver();
+
+	private static final ThreadLocal<XMLDocumentBuilder> localBuilder = ThreadLocal
+			.withInitial(XMLBatchBuildBenchmark::createBuilder);
+
+	@State(Scope.Benchmark)
+	public static class BatchFiles {
+
+		@Param({ "512" })
+		public int fileCount;
+
+		private Path tmpDir;
+
+		List<Path> files;
+
+		XMLDocumentBuilder sharedBuilder;
+
+		@Setup(Level.Trial)
+		public void init() throws IOException {
+			String documentText = Util.loadFilefromClasspath("/io/sf/carte/mark/dom/xhtml1.xml");
+			byte[] bytes = documentText.getBytes(StandardCharsets.UTF_8);
+			tmpDir = Files.createTempDirectory("mark");
+			files = new ArrayList<>(fileCount);
+			for (int i = 0; i < fileCount; i++) {
+				Path file = tmpDir.resolve("doc" + i + ".xml");
+				Files.write(file, bytes);
+				files.add(file);
+			}
+			sharedBuilder = createBuilder();
+		}
+
+		@TearDown(Level.Trial)
+		public void deleteFiles() throws IOException {
+			for (Path file : files) {
+				Files.deleteIfExists(file);
+			}
+			Files.deleteIfExists(tmpDir);
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class ForkJoinExecutor {
+
+		ForkJoinPool pool;
+
+		@Setup(Level.Trial)
+		public void init() {
+			pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		}
+
+		@TearDown(Level.Trial)
+		public void shutdown() throws InterruptedException {
+			pool.shutdown();
+			pool.awaitTermination(1, TimeUnit.MINUTES);
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class VirtualThreadExecutor {
+
+		ExecutorService executor;
+
+		@Setup(Level.Trial)
+		public void init() {
+			try {
+				Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+				executor = (ExecutorService) method.invoke(null);
+			} catch (NoSuchMethodException e) {
+				throw new UnsupportedOperationException("Virtual threads require Java 21 or later.", e);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void shutdown() throws InterruptedException {
+			executor.shutdown();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class DocumentCounter {
+
+		public long documents;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			documents = 0;
+		}
+
+	}
+
+	@Benchmark
+	public void markBatchSequential(BatchFiles batch, DocumentCounter counter)
+			throws IOException, SAXException {
+		XMLDocumentBuilder docbuilder = batch.sharedBuilder;
+		for (Path file : batch.files) {
+			build(docbuilder, file);
+		}
+		counter.documents += batch.files.size();
+	}
+
+	@Benchmark
+	public void markBatchForkJoinShared(BatchFiles batch, ForkJoinExecutor exec, DocumentCounter counter)
+			throws InterruptedException, ExecutionException {
+		runBatch(exec.pool, batch, true);
+		counter.documents += batch.files.size();
+	}
+
+	@Benchmark
+	public void markBatchForkJoinThreadLocal(BatchFiles batch, ForkJoinExecutor exec,
+			DocumentCounter counter) throws InterruptedException, ExecutionException {
+		runBatch(exec.pool, batch, false);
+		counter.documents += batch.files.size();
+	}
+
+	@Benchmark
+	public void markBatchVirtualShared(BatchFiles batch, VirtualThreadExecutor exec,
+			DocumentCounter counter) throws InterruptedException, ExecutionException {
+		runBatch(exec.executor, batch, true);
+		counter.documents += batch.files.size();
+	}
+
+	@Benchmark
+	public void markBatchVirtualThreadLocal(BatchFiles batch, VirtualThreadExecutor exec,
+			DocumentCounter counter) throws InterruptedException, ExecutionException {
+		runBatch(exec.executor, batch, false);
+		counter.documents += batch.files.size();
+	}
+
+	private static void runBatch(ExecutorService executor, BatchFiles batch, boolean shared)
+			throws InterruptedException, ExecutionException {
+		List<Callable<Document>> tasks = new ArrayList<>(batch.files.size());
+		for (Path file : batch.files) {
+			if (shared) {
+				tasks.add(() -> build(batch.sharedBuilder, file));
+			} else {
+				tasks.add(() -> build(localBuilder.get(), file));
+			}
+		}
+		for (Future<Document> future : executor.invokeAll(tasks)) {
+			future.get();
+		}
+	}
+
+	private static Document build(XMLDocumentBuilder docbuilder, Path file)
+			throws IOException, SAXException {
+		Document doc;
+		try (InputStream is = Files.newInputStream(file)) {
+			InputSource source = new InputSource(is);
+			source.setSystemId(file.toUri().toString());
+			doc = docbuilder.parse(source);
+		}
+		if (doc == null || doc.getDocumentElement() == null) {
+			throw new RuntimeException();
+		}
+		return doc;
+	}
+
+	private static XMLDocumentBuilder createBuilder() {
+		CSSDOMImplementation domImpl = new CSSDOMImplementation();
+		SAXParserFactory factory = SAXParserFactory.newInstance();
+		factory.setNamespaceAware(true);
+		try {
+			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+			factory.setFeature("http://xml.org/sax/features/xmlns-uris", true);
+			factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+			factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+		} catch (SAXException | ParserConfigurationException e) {
+			throw new IllegalStateException(e);
+		}
+		XMLDocumentBuilder docbuilder = new XMLDocumentBuilder(domImpl, factory);
+		docbuilder.setEntityResolver(entityResolver);
+		return docbuilder;
+	}
+
+}
@@ -25,7 +25,11 @@ import org.dom4j.io.SAXReader;
 import org.jsoup.Jsoup;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.w3c.dom.DOMImplementation;
 import org.w3c.dom.Document;
@@ -49,6 +53,60 @@ public class XMLBuildBenchmark {
 	private final static String documentText = Util
 			.loadCompressedFilefromClasspath("/io/sf/carte/mark/dom/mondial-3.0.xml.gz");
 
+	/**
+	 * Builders that are created once and reused across invocations, so that
+	 * their setup is not measured.
+	 */
+	@State(Scope.Thread)
+	public static class WarmBuilders {
+
+		DocumentBuilder plainJdkBuilder;
+
+		XMLDocumentBuilder jdkBuilder;
+
+		XMLDocumentBuilder domBuilder;
+
+		SAXReader dom4jReader;
+
+		SAXReader css4jDom4jReader;
+
+		@Setup(Level.Trial)
+		public void init() throws SAXException, ParserConfigurationException, ClassNotFoundException,
+				InstantiationException, IllegalAccessException {
+			DocumentBuilderFactory dbfactory = DocumentBuilderFactory.newInstance();
+			dbfactory.setNamespaceAware(true);
+			dbfactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			dbfactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+			dbfactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+			plainJdkBuilder = dbfactory.newDocumentBuilder();
+			plainJdkBuilder.setEntityResolver(entityResolver);
+
+			SAXParserFactory factory = SAXParserFactory.newInstance();
+			factory.setNamespaceAware(true);
+			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+			factory.setFeature("http://xml.org/sax/features/xmlns-uris", true);
+			factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+			factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+
+			DOMImplementationRegistry registry = DOMImplementationRegistry.newInstance();
+			DOMImplementation domImpl = registry.getDOMImplementation("XML 3.0 traversal");
+			jdkBuilder = new XMLDocumentBuilder(domImpl, factory);
+			jdkBuilder.setEntityResolver(entityResolver);
+
+			domBuilder = new XMLDocumentBuilder(new CSSDOMImplementation(), factory);
+			domBuilder.setEntityResolver(entityResolver);
+
+			dom4jReader = new SAXReader(factory.newSAXParser().getXMLReader());
+			dom4jReader.setEntityResolver(entityResolver);
+
+			css4jDom4jReader = new SAXReader(XHTMLDocumentFactory.getInstance());
+			css4jDom4jReader.setXMLReader(factory.newSAXParser().getXMLReader());
+			css4jDom4jReader.setEntityResolver(entityResolver);
+		}
+
+	}
+
 	@Benchmark
 	public void markBuildPlainJdk() throws IOException, SAXException, ParserConfigurationException {
 		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
@@ -145,6 +203,51 @@ public class XMLBuildBenchmark {
 		}
 	}
 
+	@Benchmark
+	public void markBuildWarmPlainJdk(WarmBuilders builders) throws IOException, SAXException {
+		InputSource source = new InputSource(new StringReader(documentText));
+		Document doc = builders.plainJdkBuilder.parse(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+	@Benchmark
+	public void markBuildWarmJdk(WarmBuilders builders) throws IOException, SAXException {
+		InputSource source = new InputSource(new StringReader(documentText));
+		Document doc = builders.jdkBuilder.parse(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+	@Benchmark
+	public void markBuildWarmDOM(WarmBuilders builders) throws IOException, SAXException {
+		InputSource source = new InputSource(new StringReader(documentText));
+		Document doc = builders.domBuilder.parse(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+	@Benchmark
+	public void markBuildWarmDOM4J(WarmBuilders builders) throws DocumentException {
+		InputSource source = new InputSource(new StringReader(documentText));
+		org.dom4j.Document doc = builders.dom4jReader.read(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+	@Benchmark
+	public void markBuildWarmCss4jDOM4J(WarmBuilders builders) throws DocumentException {
+		InputSource source = new InputSource(new StringReader(documentText));
+		org.dom4j.Document doc = builders.css4jDom4jReader.read(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
 	@Benchmark
 	public void markBuildJsoup() throws IOException {
 		org.jsoup.nodes.Document doc = Jsoup.parse(documentText);
@@ -0,0 +1,212 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.dom;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.dom4j.DocumentException;
+import org.dom4j.io.SAXReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.bootstrap.DOMImplementationRegistry;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import io.sf.carte.doc.dom.CSSDOMImplementation;
+import io.sf.carte.doc.dom.XMLDocumentBuilder;
+import io.sf.carte.doc.dom4j.XHTMLDocumentFactory;
+import io.sf.carte.doc.xml.dtd.DefaultEntityResolver;
+
+/**
+ * Build documents from files instead of an in-memory string, so that I/O and
+ * decoding are accounted for.
+ * <p>
+ * Each implementation reads the mondial file through a {@link FileChannel}
+ * stream, through a memory-mapped buffer, and from the gzipped file.
+ * </p>
+ */
+@Fork(value = 1)
+@Measurement(iterations = 8, time = 10)
+@Warmup(iterations = 6, time = 10)
+public class XMLStreamBuildBenchmark {
+
+	private static final String RESOURCE = "/io/sf/carte/mark/dom/mondial-3.0.xml.gz";
+
+	private static DefaultEntityResolver entityResolver = new DefaultEntityResolver();
+
+	@State(Scope.Benchmark)
+	public static class MondialFiles {
+
+		private Path tmpDir;
+
+		Path xmlFile;
+
+		Path gzFile;
+
+		@Setup(Level.Trial)
+		public void init() throws IOException {
+			tmpDir = Files.createTempDirectory("mark");
+			xmlFile = tmpDir.resolve("mondial-3.0.xml");
+			gzFile = tmpDir.resolve("mondial-3.0.xml.gz");
+			try (InputStream is = XMLStreamBuildBenchmark.class.getResourceAsStream(RESOURCE)) {
+				Files.copy(is, gzFile);
+			}
+			try (InputStream is = new GZIPInputStream(Files.newInputStream(gzFile), 4096)) {
+				Files.copy(is, xmlFile);
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void deleteFiles() throws IOException {
+			Files.deleteIfExists(xmlFile);
+			Files.deleteIfExists(gzFile);
+			Files.deleteIfExists(tmpDir);
+		}
+
+	}
+
+	@Benchmark
+	public void markBuildJdkChannel(MondialFiles files)
+			throws IOException, SAXException, ParserConfigurationException {
+		try (FileChannel channel = FileChannel.open(files.xmlFile, StandardOpenOption.READ)) {
+			buildJdk(new InputSource(Channels.newInputStream(channel)));
+		}
+	}
+
+	@Benchmark
+	public void markBuildJdkMapped(MondialFiles files)
+			throws IOException, SAXException, ParserConfigurationException {
+		try (FileChannel channel = FileChannel.open(files.xmlFile, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buildJdk(new InputSource(new ByteBufferInputStream(buffer)));
+		}
+	}
+
+	@Benchmark
+	public void markBuildJdkGzip(MondialFiles files)
+			throws IOException, SAXException, ParserConfigurationException {
+		try (InputStream is = new GZIPInputStream(Files.newInputStream(files.gzFile), 4096)) {
+			buildJdk(new InputSource(is));
+		}
+	}
+
+	@Benchmark
+	public void markBuildDOMChannel(MondialFiles files)
+			throws IOException, SAXException, ParserConfigurationException {
+		try (FileChannel channel = FileChannel.open(files.xmlFile, StandardOpenOption.READ)) {
+			buildDOM(new InputSource(Channels.newInputStream(channel)));
+		}
+	}
+
+	@Benchmark
+	public void markBuildDOMMapped(MondialFiles files)
+			throws IOException, SAXException, ParserConfigurationException {
+		try (FileChannel channel = FileChannel.open(files.xmlFile, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buildDOM(new InputSource(new ByteBufferInputStream(buffer)));
+		}
+	}
+
+	@Benchmark
+	public void markBuildDOMGzip(MondialFiles files)
+			throws IOException, SAXException, ParserConfigurationException {
+		try (InputStream is = new GZIPInputStream(Files.newInputStream(files.gzFile), 4096)) {
+			buildDOM(new InputSource(is));
+		}
+	}
+
+	@Benchmark
+	public void markBuildCss4jDOM4JChannel(MondialFiles files)
+			throws IOException, DocumentException, SAXException, ParserConfigurationException {
+		try (FileChannel channel = FileChannel.open(files.xmlFile, StandardOpenOption.READ)) {
+			buildCss4jDOM4J(new InputSource(Channels.newInputStream(channel)));
+		}
+	}
+
+	@Benchmark
+	public void markBuildCss4jDOM4JMapped(MondialFiles files)
+			throws IOException, DocumentException, SAXException, ParserConfigurationException {
+		try (FileChannel channel = FileChannel.open(files.xmlFile, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buildCss4jDOM4J(new InputSource(new ByteBufferInputStream(buffer)));
+		}
+	}
+
+	@Benchmark
+	public void markBuildCss4jDOM4JGzip(MondialFiles files)
+			throws IOException, DocumentException, SAXException, ParserConfigurationException {
+		try (InputStream is = new GZIPInputStream(Files.newInputStream(files.gzFile), 4096)) {
+			buildCss4jDOM4J(new InputSource(is));
+		}
+	}
+
+	private static void buildJdk(InputSource source)
+			throws IOException, SAXException, ParserConfigurationException {
+		DOMImplementationRegistry registry = null;
+		try {
+			registry = DOMImplementationRegistry.newInstance();
+		} catch (ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+		}
+		DOMImplementation domImpl = registry.getDOMImplementation("XML 3.0 traversal");
+		XMLDocumentBuilder docbuilder = new XMLDocumentBuilder(domImpl,
+				SAXFactories.createSAXParserFactory());
+		docbuilder.setEntityResolver(entityResolver);
+		Document doc = docbuilder.parse(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+	private static void buildDOM(InputSource source)
+			throws IOException, SAXException, ParserConfigurationException {
+		CSSDOMImplementation domImpl = new CSSDOMImplementation();
+		XMLDocumentBuilder docbuilder = new XMLDocumentBuilder(domImpl,
+				SAXFactories.createSAXParserFactory());
+		docbuilder.setEntityResolver(entityResolver);
+		Document doc = docbuilder.parse(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+	private static void buildCss4jDOM4J(InputSource source)
+			throws IOException, DocumentException, SAXException, ParserConfigurationException {
+		SAXReader docbuilder = new SAXReader(XHTMLDocumentFactory.getInstance());
+		docbuilder.setXMLReader(
+				SAXFactories.createSAXParserFactory().newSAXParser().getXMLReader());
+		docbuilder.setEntityResolver(entityResolver);
+		org.dom4j.Document doc = docbuilder.read(source);
+		if (doc == null) {
+			throw new RuntimeException();
+		}
+	}
+
+}
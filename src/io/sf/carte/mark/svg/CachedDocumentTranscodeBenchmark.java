@@ -0,0 +1,143 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.svg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import io.sf.carte.echosvg.transcoder.SVGAbstractTranscoder;
+import io.sf.carte.echosvg.transcoder.TranscoderException;
+import io.sf.carte.echosvg.transcoder.TranscoderInput;
+import io.sf.carte.echosvg.transcoder.TranscoderOutput;
+import io.sf.carte.echosvg.transcoder.image.PNGTranscoder;
+
+/**
+ * Transcode documents that were parsed once to PNG, at different sizes.
+ * <p>
+ * The {@code Cached} marks transcode the same document on each invocation, the
+ * {@code Reparse} ones parse it again like the other transcoding marks do. The
+ * difference is the parsing cost, unless the transcoder does not reuse the
+ * state of a previously rendered document as well as it could.
+ * </p>
+ */
+@Fork(value = 2, warmups = 1)
+@Warmup(iterations = 8)
+@Measurement(iterations = 12)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CachedDocumentTranscodeBenchmark {
+
+	/**
+	 * The pre-parsed documents and the size of the output.
+	 */
+	@State(Scope.Thread)
+	public static class ParsedImage {
+
+		/**
+		 * The width and height of the image, in pixels.
+		 */
+		@Param({ "128x128", "512x512", "2048x1536" })
+		public String size;
+
+		float width;
+
+		float height;
+
+		Document document;
+
+		Document batikDocument;
+
+		@Setup(Level.Trial)
+		public void init(SVGImageData data) throws IOException {
+			int idx = size.indexOf('x');
+			width = Float.parseFloat(size.substring(0, idx));
+			height = Float.parseFloat(size.substring(idx + 1));
+
+			document = data.parseEchoSVG();
+			batikDocument = data.parseBatik();
+		}
+
+	}
+
+	@Benchmark
+	public int markTranscodeCached(ParsedImage parsed) throws TranscoderException {
+		return transcode(parsed.document, parsed);
+	}
+
+	@Benchmark
+	public int markTranscodeReparse(SVGImageData data, ParsedImage parsed)
+			throws TranscoderException, IOException {
+		return transcode(data.parseEchoSVG(), parsed);
+	}
+
+	@Benchmark
+	public int markTranscodeCached_Batik(ParsedImage parsed)
+			throws org.apache.batik.transcoder.TranscoderException {
+		return transcodeBatik(parsed.batikDocument, parsed);
+	}
+
+	@Benchmark
+	public int markTranscodeReparse_Batik(SVGImageData data, ParsedImage parsed)
+			throws org.apache.batik.transcoder.TranscoderException, IOException {
+		return transcodeBatik(data.parseBatik(), parsed);
+	}
+
+	private static int transcode(Document document, ParsedImage parsed)
+			throws TranscoderException {
+		PNGTranscoder trans = new PNGTranscoder();
+		trans.addTranscodingHint(SVGAbstractTranscoder.KEY_WIDTH, parsed.width);
+		trans.addTranscodingHint(SVGAbstractTranscoder.KEY_HEIGHT, parsed.height);
+
+		TranscoderInput input = new TranscoderInput(document);
+		ByteArrayOutputStream ostream = new ByteArrayOutputStream(2000);
+		TranscoderOutput output = new TranscoderOutput(ostream);
+
+		trans.transcode(input, output);
+
+		return ostream.size();
+	}
+
+	private static int transcodeBatik(Document document, ParsedImage parsed)
+			throws org.apache.batik.transcoder.TranscoderException {
+		org.apache.batik.transcoder.image.PNGTranscoder trans = new org.apache.batik.transcoder.image.PNGTranscoder();
+		trans.addTranscodingHint(org.apache.batik.transcoder.SVGAbstractTranscoder.KEY_WIDTH,
+				parsed.width);
+		trans.addTranscodingHint(org.apache.batik.transcoder.SVGAbstractTranscoder.KEY_HEIGHT,
+				parsed.height);
+
+		org.apache.batik.transcoder.TranscoderInput input = new org.apache.batik.transcoder.TranscoderInput(
+				document);
+		ByteArrayOutputStream ostream = new ByteArrayOutputStream(2000);
+		org.apache.batik.transcoder.TranscoderOutput output = new org.apache.batik.transcoder.TranscoderOutput(
+				ostream);
+
+		trans.transcode(input, output);
+
+		return ostream.size();
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.svg;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+
+/**
+ * Draw a chart-like picture made of a given number of primitives: filled
+ * shapes, gradients, stroked paths, clipped and transformed shapes, and text
+ * runs.
+ * <p>
+ * The colors, gradients, strokes, clips, rotations and fonts are taken from
+ * small sets, like a chart would do, so that a generator can share their
+ * definitions.
+ * </p>
+ */
+public class ChartPainter {
+
+	public static final int WIDTH = 1000;
+
+	public static final int HEIGHT = 800;
+
+	private static final String[] LABELS = { "Q1", "Q2", "Q3", "Q4", "Revenue", "Cost", "Margin",
+			"2024", "2025", "2026" };
+
+	private final int primitives;
+
+	private final Color[] colors = new Color[16];
+
+	private final GradientPaint[] gradients = new GradientPaint[8];
+
+	private final Stroke[] strokes = new Stroke[4];
+
+	private final Rectangle2D[] clips = new Rectangle2D[8];
+
+	private final Font[] fonts = new Font[2];
+
+	/**
+	 * Construct a painter.
+	 *
+	 * @param primitives the number of primitives to draw.
+	 */
+	public ChartPainter(int primitives) {
+		super();
+		this.primitives = primitives;
+
+		for (int i = 0; i < colors.length; i++) {
+			colors[i] = Color.getHSBColor(i / (float) colors.length, 0.7f, 0.8f);
+		}
+		for (int i = 0; i < gradients.length; i++) {
+			gradients[i] = new GradientPaint(0, 0, colors[i], 0, 100, colors[15 - i]);
+		}
+		strokes[0] = new BasicStroke(1f);
+		strokes[1] = new BasicStroke(2f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+		strokes[2] = new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f,
+				new float[] { 4f, 2f }, 0f);
+		strokes[3] = new BasicStroke(3f, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_BEVEL);
+		for (int i = 0; i < clips.length; i++) {
+			clips[i] = new Rectangle2D.Double(i * WIDTH / 8d, 0, WIDTH / 8d, HEIGHT);
+		}
+		fonts[0] = new Font("sans-serif", Font.PLAIN, 10);
+		fonts[1] = new Font("serif", Font.BOLD, 14);
+	}
+
+	public void paint(Graphics2D g) {
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setBackground(Color.white);
+
+		// Same sequence of primitives on each call
+		Random random = new Random(primitives);
+
+		for (int i = 0; i < primitives; i++) {
+			double x = random.nextInt(WIDTH - 50);
+			double y = random.nextInt(HEIGHT - 50);
+			int k = random.nextInt(16);
+			switch (i % 6) {
+			case 0:
+				g.setPaint(colors[k]);
+				g.fill(new Rectangle2D.Double(x, y, 10 + k, 50 - k));
+				break;
+			case 1:
+				g.setPaint(gradients[k % gradients.length]);
+				g.fill(new Ellipse2D.Double(x, y, 20, 20 + k));
+				break;
+			case 2:
+				Path2D.Double path = new Path2D.Double();
+				path.moveTo(x, y);
+				for (int j = 1; j <= 4; j++) {
+					path.lineTo(x + 10 * j, y + random.nextInt(40));
+				}
+				g.setPaint(colors[k]);
+				g.setStroke(strokes[k % strokes.length]);
+				g.draw(path);
+				break;
+			case 3:
+				Graphics2D gc = (Graphics2D) g.create();
+				gc.clip(clips[k % clips.length]);
+				gc.setPaint(colors[k]);
+				gc.fill(new Rectangle2D.Double(x - 20, y, 60, 30));
+				gc.dispose();
+				break;
+			case 4:
+				Graphics2D gt = (Graphics2D) g.create();
+				gt.translate(x, y);
+				gt.rotate(Math.toRadians(15 * (k % 12)));
+				gt.setPaint(colors[k]);
+				gt.setStroke(strokes[k % strokes.length]);
+				gt.draw(new Rectangle2D.Double(0, 0, 30, 15));
+				gt.dispose();
+				break;
+			default:
+				g.setPaint(colors[k]);
+				g.setFont(fonts[k % fonts.length]);
+				g.drawString(LABELS[k % LABELS.length], (float) x, (float) y);
+			}
+		}
+	}
+
+}
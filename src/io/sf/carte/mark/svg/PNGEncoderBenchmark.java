@@ -0,0 +1,305 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.svg;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.sf.carte.echosvg.bridge.BridgeContext;
+import io.sf.carte.echosvg.bridge.GVTBuilder;
+import io.sf.carte.echosvg.ext.awt.image.codec.png.PNGEncodeParam;
+import io.sf.carte.echosvg.ext.awt.image.codec.png.PNGImageEncoder;
+import io.sf.carte.echosvg.gvt.GraphicsNode;
+
+/**
+ * Encode the rendered SVG images to PNG with the EchoSVG and Batik codecs, and
+ * with {@code ImageIO}.
+ * <p>
+ * The codecs always deflate at level 9, but the row filter can be chosen: the
+ * default {@code adaptive} filter is what {@code PNGTranscoder} uses. With
+ * {@code ImageIO} the row filter is fixed and the deflate level is chosen
+ * instead.
+ * </p>
+ * <p>
+ * The score is the time per image. The {@code encodedBytes} and {@code images}
+ * counters are totals, and their ratio gives the size of the encoded image.
+ * </p>
+ */
+@Fork(value = 2, warmups = 1)
+@Warmup(iterations = 8)
+@Measurement(iterations = 12)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PNGEncoderBenchmark {
+
+	private static final List<String> FILTERS = Arrays.asList("none", "sub", "up", "average",
+			"paeth");
+
+	/**
+	 * The image rendered by EchoSVG.
+	 */
+	@State(Scope.Benchmark)
+	public static class RenderedImage {
+
+		BufferedImage image;
+
+		@Setup(Level.Trial)
+		public void init(SVGImageData data) throws IOException {
+			BridgeContext ctx = TranscodePhasesBenchmark.createBridgeContext();
+			try {
+				GraphicsNode gvtRoot = new GVTBuilder().build(ctx, data.parseEchoSVG());
+				image = TranscodePhasesBenchmark.createCanvas(ctx.getDocumentSize());
+				TranscodePhasesBenchmark.render(gvtRoot, image);
+			} finally {
+				ctx.dispose();
+			}
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class CodecFilter {
+
+		/**
+		 * {@code adaptive} to choose the best filter for each row, or the name of
+		 * the filter to use with all the rows.
+		 */
+		@Param({ "adaptive", "none", "sub", "up", "average", "paeth" })
+		public String filter;
+
+		/*
+		 * The PNG filter type, or -1 if adaptive.
+		 */
+		int filterType;
+
+		@Setup(Level.Trial)
+		public void init() {
+			filterType = FILTERS.indexOf(filter);
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class DeflateLevel {
+
+		@Param({ "1", "4", "6", "9" })
+		public int level;
+
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class EncodedSize {
+
+		public long encodedBytes;
+
+		public long images;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			encodedBytes = 0;
+			images = 0;
+		}
+
+		void add(int size) {
+			encodedBytes += size;
+			images++;
+		}
+
+	}
+
+	@Benchmark
+	public int markEncodeCodec(RenderedImage rendered, CodecFilter filter, EncodedSize size)
+			throws IOException {
+		BufferedImage image = rendered.image;
+		PNGEncodeParam params;
+		if (filter.filterType == -1) {
+			params = PNGEncodeParam.getDefaultEncodeParam(image);
+		} else {
+			params = new FixedFilterParam(filter.filterType);
+		}
+		ByteArrayOutputStream ostream = new ByteArrayOutputStream(2000);
+		new PNGImageEncoder(ostream, params).encode(image);
+		return checkSize(ostream.size(), size);
+	}
+
+	@Benchmark
+	public int markEncodeCodec_Batik(RenderedImage rendered, CodecFilter filter,
+			EncodedSize size) throws IOException {
+		BufferedImage image = rendered.image;
+		org.apache.batik.ext.awt.image.codec.png.PNGEncodeParam params;
+		if (filter.filterType == -1) {
+			params = org.apache.batik.ext.awt.image.codec.png.PNGEncodeParam
+					.getDefaultEncodeParam(image);
+		} else {
+			params = new BatikFixedFilterParam(filter.filterType);
+		}
+		ByteArrayOutputStream ostream = new ByteArrayOutputStream(2000);
+		new org.apache.batik.ext.awt.image.codec.png.PNGImageEncoder(ostream, params)
+				.encode(image);
+		return checkSize(ostream.size(), size);
+	}
+
+	@Benchmark
+	public int markEncodeImageIO(RenderedImage rendered, DeflateLevel level, EncodedSize size)
+			throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+		ImageWriteParam params = writer.getDefaultWriteParam();
+		params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+		// The JDK writer uses a deflate level of 9 - round(9 * quality)
+		params.setCompressionQuality((9 - level.level) / 9f);
+
+		ByteArrayOutputStream ostream = new ByteArrayOutputStream(2000);
+		try (ImageOutputStream out = new MemoryCacheImageOutputStream(ostream)) {
+			writer.setOutput(out);
+			writer.write(null, new IIOImage(rendered.image, null, null), params);
+		} finally {
+			writer.dispose();
+		}
+		return checkSize(ostream.size(), size);
+	}
+
+	private static int checkSize(int encodedSize, EncodedSize size) {
+		if (encodedSize < 100) {
+			throw new IllegalStateException("Encoded only " + encodedSize + " bytes.");
+		}
+		size.add(encodedSize);
+		return encodedSize;
+	}
+
+	/**
+	 * Filter a row with the given PNG filter type.
+	 * <p>
+	 * The rows start with {@code bytesPerPixel} zeroes, as expected by
+	 * {@code PNGEncodeParam.filterRow()}.
+	 * </p>
+	 *
+	 * @param filterType    the filter type.
+	 * @param currRow       the current row.
+	 * @param prevRow       the previous row.
+	 * @param scratchRows   the rows where each filter type writes its output.
+	 * @param bytesPerRow   the number of bytes in the row, not counting the
+	 *                      leading zeroes.
+	 * @param bytesPerPixel the number of bytes per pixel.
+	 * @return the filter type.
+	 */
+	private static int filterRow(int filterType, byte[] currRow, byte[] prevRow, byte[][] scratchRows,
+			int bytesPerRow, int bytesPerPixel) {
+		byte[] filtered = scratchRows[filterType];
+		int end = bytesPerRow + bytesPerPixel;
+		switch (filterType) {
+		case 0:
+			System.arraycopy(currRow, bytesPerPixel, filtered, bytesPerPixel, bytesPerRow);
+			break;
+		case 1:
+			for (int i = bytesPerPixel; i < end; i++) {
+				filtered[i] = (byte) (currRow[i] - currRow[i - bytesPerPixel]);
+			}
+			break;
+		case 2:
+			for (int i = bytesPerPixel; i < end; i++) {
+				filtered[i] = (byte) (currRow[i] - prevRow[i]);
+			}
+			break;
+		case 3:
+			for (int i = bytesPerPixel; i < end; i++) {
+				int left = currRow[i - bytesPerPixel] & 0xff;
+				int up = prevRow[i] & 0xff;
+				filtered[i] = (byte) (currRow[i] - ((left + up) >> 1));
+			}
+			break;
+		default:
+			for (int i = bytesPerPixel; i < end; i++) {
+				int left = currRow[i - bytesPerPixel] & 0xff;
+				int up = prevRow[i] & 0xff;
+				int upLeft = prevRow[i - bytesPerPixel] & 0xff;
+				int p = left + up - upLeft;
+				int pa = Math.abs(p - left);
+				int pb = Math.abs(p - up);
+				int pc = Math.abs(p - upLeft);
+				int predictor;
+				if (pa <= pb && pa <= pc) {
+					predictor = left;
+				} else if (pb <= pc) {
+					predictor = up;
+				} else {
+					predictor = upLeft;
+				}
+				filtered[i] = (byte) (currRow[i] - predictor);
+			}
+		}
+		return filterType;
+	}
+
+	private static class FixedFilterParam extends PNGEncodeParam.RGB {
+
+		private final int filterType;
+
+		FixedFilterParam(int filterType) {
+			super();
+			this.filterType = filterType;
+		}
+
+		@Override
+		public int filterRow(byte[] currRow, byte[] prevRow, byte[][] scratchRows,
+				int bytesPerRow, int bytesPerPixel) {
+			return PNGEncoderBenchmark.filterRow(filterType, currRow, prevRow, scratchRows,
+					bytesPerRow, bytesPerPixel);
+		}
+
+	}
+
+	private static class BatikFixedFilterParam
+			extends org.apache.batik.ext.awt.image.codec.png.PNGEncodeParam.RGB {
+
+		private final int filterType;
+
+		BatikFixedFilterParam(int filterType) {
+			super();
+			this.filterType = filterType;
+		}
+
+		@Override
+		public int filterRow(byte[] currRow, byte[] prevRow, byte[][] scratchRows,
+				int bytesPerRow, int bytesPerPixel) {
+			return PNGEncoderBenchmark.filterRow(filterType, currRow, prevRow, scratchRows,
+					bytesPerRow, bytesPerPixel);
+		}
+
+	}
+
+}
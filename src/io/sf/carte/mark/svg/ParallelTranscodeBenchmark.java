@@ -0,0 +1,130 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.svg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.sf.carte.echosvg.transcoder.TranscoderException;
+import io.sf.carte.echosvg.transcoder.TranscoderInput;
+import io.sf.carte.echosvg.transcoder.TranscoderOutput;
+import io.sf.carte.echosvg.transcoder.image.PNGTranscoder;
+
+/**
+ * Transcode the SVG images to PNG concurrently, with EchoSVG and Batik.
+ * <p>
+ * The throughput mode gives the images per millisecond (aggregated over all
+ * the threads), and the sample mode the latency percentiles including p0.99. A
+ * score that does not scale with the thread count reveals shared state in the
+ * transcoder, like static caches, font lookup or locks in the CSS engine. Use
+ * {@code -t} to try other thread counts.
+ * </p>
+ */
+@Fork(value = 2, warmups = 1)
+@Warmup(iterations = 8)
+@Measurement(iterations = 12)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelTranscodeBenchmark {
+
+	@Benchmark
+	@Threads(1)
+	public int markTranscode1(SVGImageData data) throws TranscoderException, IOException {
+		return transcode(data);
+	}
+
+	@Benchmark
+	@Threads(2)
+	public int markTranscode2(SVGImageData data) throws TranscoderException, IOException {
+		return transcode(data);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public int markTranscode4(SVGImageData data) throws TranscoderException, IOException {
+		return transcode(data);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public int markTranscodeMax(SVGImageData data) throws TranscoderException, IOException {
+		return transcode(data);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public int markTranscode1_Batik(SVGImageData data)
+			throws org.apache.batik.transcoder.TranscoderException, IOException {
+		return transcodeBatik(data);
+	}
+
+	@Benchmark
+	@Threads(2)
+	public int markTranscode2_Batik(SVGImageData data)
+			throws org.apache.batik.transcoder.TranscoderException, IOException {
+		return transcodeBatik(data);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public int markTranscode4_Batik(SVGImageData data)
+			throws org.apache.batik.transcoder.TranscoderException, IOException {
+		return transcodeBatik(data);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public int markTranscodeMax_Batik(SVGImageData data)
+			throws org.apache.batik.transcoder.TranscoderException, IOException {
+		return transcodeBatik(data);
+	}
+
+	private static int transcode(SVGImageData data) throws TranscoderException, IOException {
+		org.w3c.dom.Document document = data.parseEchoSVG();
+
+		PNGTranscoder trans = new PNGTranscoder();
+		TranscoderInput input = new TranscoderInput(document);
+		ByteArrayOutputStream ostream = new ByteArrayOutputStream(2000);
+		TranscoderOutput output = new TranscoderOutput(ostream);
+
+		trans.transcode(input, output);
+
+		return ostream.size();
+	}
+
+	private static int transcodeBatik(SVGImageData data)
+			throws org.apache.batik.transcoder.TranscoderException, IOException {
+		org.w3c.dom.Document document = data.parseBatik();
+
+		org.apache.batik.transcoder.image.PNGTranscoder trans = new org.apache.batik.transcoder.image.PNGTranscoder();
+		org.apache.batik.transcoder.TranscoderInput input = new org.apache.batik.transcoder.TranscoderInput(
+				document);
+		ByteArrayOutputStream ostream = new ByteArrayOutputStream(2000);
+		org.apache.batik.transcoder.TranscoderOutput output = new org.apache.batik.transcoder.TranscoderOutput(
+				ostream);
+
+		trans.transcode(input, output);
+
+		return ostream.size();
+	}
+
+}
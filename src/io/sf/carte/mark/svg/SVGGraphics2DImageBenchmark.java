@@ -0,0 +1,184 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.svg;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.sf.carte.echosvg.svggen.ImageHandler;
+import io.sf.carte.echosvg.svggen.ImageHandlerBase64Encoder;
+import io.sf.carte.echosvg.svggen.ImageHandlerJPEGEncoder;
+import io.sf.carte.echosvg.svggen.ImageHandlerPNGEncoder;
+import io.sf.carte.echosvg.svggen.SVGGeneratorContext;
+import io.sf.carte.echosvg.svggen.SVGGraphics2D;
+
+/**
+ * Draw a raster image with {@code SVGGraphics2D} and stream the result, with
+ * EchoSVG and Batik.
+ * <p>
+ * The {@code base64} image handler is the default one, which embeds the image
+ * as a PNG data URL. The {@code jpeg} and {@code png} handlers write the image
+ * to a file in a temporary directory, and link to it.
+ * </p>
+ */
+@Fork(value = 2, warmups = 1)
+@Warmup(iterations = 6)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SVGGraphics2DImageBenchmark {
+
+	@State(Scope.Thread)
+	public static class RasterImage {
+
+		/**
+		 * The width and height of the image, in pixels.
+		 */
+		@Param({ "64", "256", "1024", "2048" })
+		public int size;
+
+		@Param({ "base64", "jpeg", "png" })
+		public String handler;
+
+		BufferedImage image;
+
+		Path imageDir;
+
+		@Setup(Level.Trial)
+		public void init() throws IOException {
+			image = createImage(size);
+			imageDir = Files.createTempDirectory("svggen");
+		}
+
+		/**
+		 * Remove the images written by the handlers during the iteration.
+		 *
+		 * @throws IOException if an I/O error occurred.
+		 */
+		@TearDown(Level.Iteration)
+		public void clean() throws IOException {
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(imageDir)) {
+				for (Path file : stream) {
+					Files.delete(file);
+				}
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void delete() throws IOException {
+			clean();
+			Files.delete(imageDir);
+		}
+
+		ImageHandler createImageHandler() throws IOException {
+			switch (handler) {
+			case "jpeg":
+				return new ImageHandlerJPEGEncoder(imageDir.toString(), null);
+			case "png":
+				return new ImageHandlerPNGEncoder(imageDir.toString(), null);
+			default:
+				return new ImageHandlerBase64Encoder();
+			}
+		}
+
+		org.apache.batik.svggen.ImageHandler createBatikImageHandler() throws IOException {
+			switch (handler) {
+			case "jpeg":
+				return new org.apache.batik.svggen.ImageHandlerJPEGEncoder(imageDir.toString(),
+						null);
+			case "png":
+				return new org.apache.batik.svggen.ImageHandlerPNGEncoder(imageDir.toString(),
+						null);
+			default:
+				return new org.apache.batik.svggen.ImageHandlerBase64Encoder();
+			}
+		}
+
+		/**
+		 * Create an image with smooth gradients and some noise, like a photograph.
+		 *
+		 * @param size the width and height.
+		 * @return the image.
+		 */
+		private static BufferedImage createImage(int size) {
+			BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+			Random random = new Random(size);
+			for (int y = 0; y < size; y++) {
+				for (int x = 0; x < size; x++) {
+					int r = x * 255 / size;
+					int g = y * 255 / size;
+					int b = (x + y) * 127 / size;
+					int noise = random.nextInt(16);
+					image.setRGB(x, y, (Math.min(r + noise, 255) << 16)
+							| (Math.min(g + noise, 255) << 8) | Math.min(b + noise, 255));
+				}
+			}
+			return image;
+		}
+
+	}
+
+	@Benchmark
+	public int markDrawImage(RasterImage raster) throws IOException {
+		SVGGeneratorContext ctx = SVGGeneratorContext
+				.createDefault(SVGGraphics2DMark.createDocument());
+		ctx.setImageHandler(raster.createImageHandler());
+		SVGGraphics2D g2d = new SVGGraphics2D(ctx, false);
+		g2d.setSVGCanvasSize(new Dimension(raster.size, raster.size));
+
+		g2d.drawImage(raster.image, 0, 0, null);
+
+		CharArrayWriter wri = new CharArrayWriter(1000);
+		g2d.stream(wri);
+
+		return wri.size();
+	}
+
+	@Benchmark
+	public int markDrawImage_Batik(RasterImage raster) throws IOException {
+		org.apache.batik.svggen.SVGGeneratorContext ctx = org.apache.batik.svggen.SVGGeneratorContext
+				.createDefault(SVGGraphics2DMark.createDocument());
+		ctx.setImageHandler(raster.createBatikImageHandler());
+		org.apache.batik.svggen.SVGGraphics2D g2d = new org.apache.batik.svggen.SVGGraphics2D(ctx,
+				false);
+		g2d.setSVGCanvasSize(new Dimension(raster.size, raster.size));
+
+		g2d.drawImage(raster.image, 0, 0, null);
+
+		CharArrayWriter wri = new CharArrayWriter(1000);
+		g2d.stream(wri);
+
+		return wri.size();
+	}
+
+}
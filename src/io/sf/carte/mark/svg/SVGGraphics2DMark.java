@@ -77,7 +77,7 @@ public class SVGGraphics2DMark {
 	 * 
 	 * @return the <code>Document</code>.
 	 */
-	private static Document createDocument() {
+	static Document createDocument() {
 		// We need a Document that holds an SVG root element.
 		// First obtain a DocumentBuilder as a way to get it.
 		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
@@ -0,0 +1,99 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.svg;
+
+import java.awt.Dimension;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.sf.carte.echosvg.svggen.SVGGraphics2D;
+
+/**
+ * Generate and stream an SVG document with thousands of primitives, with
+ * EchoSVG and Batik.
+ * <p>
+ * The time per primitive should stay flat as the number of primitives grows, if
+ * the generator shares the style and definitions efficiently.
+ * </p>
+ */
+@Fork(value = 2, warmups = 1)
+@Warmup(iterations = 6)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SVGGraphics2DScaleBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Chart {
+
+		@Param({ "1000", "10000", "100000" })
+		public int primitives;
+
+		ChartPainter painter;
+
+		@Setup(Level.Trial)
+		public void init() {
+			painter = new ChartPainter(primitives);
+		}
+
+	}
+
+	@Benchmark
+	public int markSVGGraphics2D(Chart chart) throws IOException {
+		SVGGraphics2D g2d = SVGGraphics2DMark
+				.createSVGGraphics2D(SVGGraphics2DMark.createDocument());
+		g2d.setSVGCanvasSize(new Dimension(ChartPainter.WIDTH, ChartPainter.HEIGHT));
+
+		chart.painter.paint(g2d);
+
+		CharArrayWriter wri = new CharArrayWriter(chart.primitives * 100);
+		g2d.stream(wri);
+
+		return checkLength(wri.size(), chart);
+	}
+
+	@Benchmark
+	public int markSVGGraphics2D_Batik(Chart chart) throws IOException {
+		org.apache.batik.svggen.SVGGraphics2D g2d = SVGGraphics2DMark
+				.createBatikSVGGraphics2D(SVGGraphics2DMark.createDocument());
+		g2d.setSVGCanvasSize(new Dimension(ChartPainter.WIDTH, ChartPainter.HEIGHT));
+
+		chart.painter.paint(g2d);
+
+		CharArrayWriter wri = new CharArrayWriter(chart.primitives * 100);
+		g2d.stream(wri);
+
+		return checkLength(wri.size(), chart);
+	}
+
+	private static int checkLength(int length, Chart chart) {
+		if (length < chart.primitives * 20) {
+			throw new IllegalStateException("Output is only " + length + " characters long.");
+		}
+		return length;
+	}
+
+}
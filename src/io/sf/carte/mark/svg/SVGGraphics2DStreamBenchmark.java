@@ -0,0 +1,153 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.svg;
+
+import java.awt.Dimension;
+import java.io.BufferedWriter;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Element;
+
+import io.sf.carte.echosvg.svggen.SVGGraphics2D;
+import io.sf.carte.mark.svg.SVGGraphics2DScaleBenchmark.Chart;
+
+/**
+ * Stream the output of {@code SVGGraphics2D} to different destinations, with
+ * EchoSVG and Batik.
+ * <p>
+ * The {@code Paint} marks only build the SVG tree, the {@code NullSink} ones
+ * also serialize it but discard the output, the {@code File} ones write it to a
+ * buffered file writer, and the {@code CharArray} ones keep a copy of the
+ * output in memory.
+ * </p>
+ * <p>
+ * Run with {@code -prof gc} to obtain the bytes allocated per operation, and
+ * {@code -prof io.sf.carte.mark.PeakHeapProfiler} for the peak heap usage.
+ * </p>
+ */
+@Fork(value = 2, warmups = 1)
+@Warmup(iterations = 6)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SVGGraphics2DStreamBenchmark {
+
+	@State(Scope.Thread)
+	public static class TempFile {
+
+		Path path;
+
+		@Setup(Level.Trial)
+		public void init() throws IOException {
+			path = Files.createTempFile("svggen", ".svg");
+		}
+
+		@TearDown(Level.Trial)
+		public void delete() throws IOException {
+			Files.deleteIfExists(path);
+		}
+
+		Writer createWriter() throws IOException {
+			return new BufferedWriter(
+					new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8));
+		}
+
+	}
+
+	@Benchmark
+	public Element markPaint(Chart chart) {
+		return paint(chart).getRoot();
+	}
+
+	@Benchmark
+	public void markNullSink(Chart chart) throws IOException {
+		paint(chart).stream(Writer.nullWriter());
+	}
+
+	@Benchmark
+	public void markFile(Chart chart, TempFile file) throws IOException {
+		SVGGraphics2D g2d = paint(chart);
+		try (Writer wri = file.createWriter()) {
+			g2d.stream(wri);
+		}
+	}
+
+	@Benchmark
+	public int markCharArray(Chart chart) throws IOException {
+		SVGGraphics2D g2d = paint(chart);
+		CharArrayWriter wri = new CharArrayWriter(chart.primitives * 100);
+		g2d.stream(wri);
+		return wri.size();
+	}
+
+	@Benchmark
+	public Element markPaint_Batik(Chart chart) {
+		return paintBatik(chart).getRoot();
+	}
+
+	@Benchmark
+	public void markNullSink_Batik(Chart chart) throws IOException {
+		paintBatik(chart).stream(Writer.nullWriter());
+	}
+
+	@Benchmark
+	public void markFile_Batik(Chart chart, TempFile file) throws IOException {
+		org.apache.batik.svggen.SVGGraphics2D g2d = paintBatik(chart);
+		try (Writer wri = file.createWriter()) {
+			g2d.stream(wri);
+		}
+	}
+
+	@Benchmark
+	public int markCharArray_Batik(Chart chart) throws IOException {
+		org.apache.batik.svggen.SVGGraphics2D g2d = paintBatik(chart);
+		CharArrayWriter wri = new CharArrayWriter(chart.primitives * 100);
+		g2d.stream(wri);
+		return wri.size();
+	}
+
+	private static SVGGraphics2D paint(Chart chart) {
+		SVGGraphics2D g2d = SVGGraphics2DMark
+				.createSVGGraphics2D(SVGGraphics2DMark.createDocument());
+		g2d.setSVGCanvasSize(new Dimension(ChartPainter.WIDTH, ChartPainter.HEIGHT));
+		chart.painter.paint(g2d);
+		return g2d;
+	}
+
+	private static org.apache.batik.svggen.SVGGraphics2D paintBatik(Chart chart) {
+		org.apache.batik.svggen.SVGGraphics2D g2d = SVGGraphics2DMark
+				.createBatikSVGGraphics2D(SVGGraphics2DMark.createDocument());
+		g2d.setSVGCanvasSize(new Dimension(ChartPainter.WIDTH, ChartPainter.HEIGHT));
+		chart.painter.paint(g2d);
+		return g2d;
+	}
+
+}
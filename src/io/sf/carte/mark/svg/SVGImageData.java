@@ -0,0 +1,73 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.svg;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.w3c.dom.Document;
+
+import io.sf.carte.echosvg.anim.dom.SVGDOMImplementation;
+import io.sf.carte.echosvg.dom.util.SAXDocumentFactory;
+import io.sf.carte.mark.Util;
+
+/**
+ * One of the SVG images used by the transcoding marks.
+ */
+@State(Scope.Benchmark)
+public class SVGImageData {
+
+	@Param({ "pooh3", "issue91", "useMultiple" })
+	public String image;
+
+	String svgImage;
+
+	String imageURI;
+
+	@Setup(Level.Trial)
+	public void init() {
+		svgImage = Util.loadFilefromClasspath("svg/" + image + ".svg");
+		imageURI = SVGImageData.class.getResource(image + ".svg").toExternalForm();
+	}
+
+	/**
+	 * Parse the image into an EchoSVG document.
+	 *
+	 * @return the document.
+	 * @throws IOException if an I/O error occurred.
+	 */
+	Document parseEchoSVG() throws IOException {
+		org.w3c.dom.DOMImplementation impl = SVGDOMImplementation.getDOMImplementation();
+		SAXDocumentFactory f = new SAXDocumentFactory(impl);
+		return f.createDocument(imageURI, new StringReader(svgImage));
+	}
+
+	/**
+	 * Parse the image into a Batik document.
+	 *
+	 * @return the document.
+	 * @throws IOException if an I/O error occurred.
+	 */
+	Document parseBatik() throws IOException {
+		org.w3c.dom.DOMImplementation impl = org.apache.batik.anim.dom.SVGDOMImplementation
+				.getDOMImplementation();
+		org.apache.batik.dom.util.SAXDocumentFactory f = new org.apache.batik.dom.util.SAXDocumentFactory(
+				impl, null);
+		return f.createDocument(imageURI, new StringReader(svgImage));
+	}
+
+}
@@ -0,0 +1,230 @@
+/*
+
+ Copyright (c) 2026, Carlos Amengual.
+
+ Licensed under a BSD-style License. You can find the license here:
+ https://css4j.github.io/LICENSE.txt
+
+ */
+
+// SPDX-License-Identifier: BSD-2-Clause OR BSD-3-Clause
+
+package io.sf.carte.mark.svg;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Dimension2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import io.sf.carte.echosvg.bridge.BridgeContext;
+import io.sf.carte.echosvg.bridge.DocumentLoader;
+import io.sf.carte.echosvg.bridge.GVTBuilder;
+import io.sf.carte.echosvg.bridge.UserAgent;
+import io.sf.carte.echosvg.bridge.UserAgentAdapter;
+import io.sf.carte.echosvg.ext.awt.image.GraphicsUtil;
+import io.sf.carte.echosvg.ext.awt.image.codec.png.PNGEncodeParam;
+import io.sf.carte.echosvg.ext.awt.image.codec.png.PNGImageEncoder;
+import io.sf.carte.echosvg.gvt.GraphicsNode;
+
+/**
+ * Time separately each of the phases of an SVG to PNG transcoding, with
+ * EchoSVG and Batik.
+ * <p>
+ * The phases are the parsing of the document, the building of the GVT tree
+ * (which includes the CSS cascade) from a pre-parsed document, the rendering of
+ * a pre-built GVT tree into a {@code BufferedImage}, and the PNG encoding of a
+ * fixed image. The encoding marks use the same image (rendered by EchoSVG) with
+ * both codecs.
+ * </p>
+ */
+@Fork(value = 2, warmups = 1)
+@Warmup(iterations = 8)
+@Measurement(iterations = 12)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TranscodePhasesBenchmark {
+
+	/**
+	 * The documents, GVT trees and images that each phase starts from.
+	 */
+	@State(Scope.Thread)
+	public static class Phases {
+
+		/*
+		 * The documents used to build the GVT trees in the mark, which are
+		 * different from those that produced the pre-built trees.
+		 */
+		Document document;
+
+		Document batikDocument;
+
+		BridgeContext bridgeContext;
+
+		GraphicsNode gvtRoot;
+
+		org.apache.batik.bridge.BridgeContext batikBridgeContext;
+
+		org.apache.batik.gvt.GraphicsNode batikGvtRoot;
+
+		BufferedImage canvas;
+
+		BufferedImage batikCanvas;
+
+		/*
+		 * The image to encode.
+		 */
+		BufferedImage image;
+
+		@Setup(Level.Trial)
+		public void init(SVGImageData data) throws IOException {
+			document = data.parseEchoSVG();
+			batikDocument = data.parseBatik();
+
+			bridgeContext = createBridgeContext();
+			gvtRoot = new GVTBuilder().build(bridgeContext, data.parseEchoSVG());
+			canvas = createCanvas(bridgeContext.getDocumentSize());
+
+			batikBridgeContext = createBatikBridgeContext();
+			batikGvtRoot = new org.apache.batik.bridge.GVTBuilder().build(batikBridgeContext,
+					data.parseBatik());
+			batikCanvas = createCanvas(batikBridgeContext.getDocumentSize());
+
+			image = createCanvas(bridgeContext.getDocumentSize());
+			render(gvtRoot, image);
+		}
+
+		@TearDown(Level.Trial)
+		public void dispose() {
+			bridgeContext.dispose();
+			batikBridgeContext.dispose();
+		}
+
+	}
+
+	@Benchmark
+	public Document markParse(SVGImageData data) throws IOException {
+		return data.parseEchoSVG();
+	}
+
+	@Benchmark
+	public Document markParse_Batik(SVGImageData data) throws IOException {
+		return data.parseBatik();
+	}
+
+	@Benchmark
+	public GraphicsNode markBuildGVT(Phases phases) {
+		BridgeContext ctx = createBridgeContext();
+		try {
+			return new GVTBuilder().build(ctx, phases.document);
+		} finally {
+			ctx.dispose();
+		}
+	}
+
+	@Benchmark
+	public org.apache.batik.gvt.GraphicsNode markBuildGVT_Batik(Phases phases) {
+		org.apache.batik.bridge.BridgeContext ctx = createBatikBridgeContext();
+		try {
+			return new org.apache.batik.bridge.GVTBuilder().build(ctx, phases.batikDocument);
+		} finally {
+			ctx.dispose();
+		}
+	}
+
+	@Benchmark
+	public BufferedImage markRender(Phases phases) {
+		BufferedImage canvas = phases.canvas;
+		render(phases.gvtRoot, canvas);
+		return canvas;
+	}
+
+	@Benchmark
+	public BufferedImage markRender_Batik(Phases phases) {
+		BufferedImage canvas = phases.batikCanvas;
+		Graphics2D g = org.apache.batik.ext.awt.image.GraphicsUtil.createGraphics(canvas);
+		prepareGraphics(g, canvas);
+		phases.batikGvtRoot.paint(g);
+		g.dispose();
+		return canvas;
+	}
+
+	@Benchmark
+	public int markEncodePNG(Phases phases) throws IOException {
+		ByteArrayOutputStream ostream = new ByteArrayOutputStream(2000);
+		PNGEncodeParam params = PNGEncodeParam.getDefaultEncodeParam(phases.image);
+		new PNGImageEncoder(ostream, params).encode(phases.image);
+		return ostream.size();
+	}
+
+	@Benchmark
+	public int markEncodePNG_Batik(Phases phases) throws IOException {
+		ByteArrayOutputStream ostream = new ByteArrayOutputStream(2000);
+		org.apache.batik.ext.awt.image.codec.png.PNGEncodeParam params = org.apache.batik.ext.awt.image.codec.png.PNGEncodeParam
+				.getDefaultEncodeParam(phases.image);
+		new org.apache.batik.ext.awt.image.codec.png.PNGImageEncoder(ostream, params)
+				.encode(phases.image);
+		return ostream.size();
+	}
+
+	static BridgeContext createBridgeContext() {
+		UserAgent userAgent = new UserAgentAdapter();
+		BridgeContext ctx = new BridgeContext(userAgent, new DocumentLoader(userAgent));
+		ctx.setDynamicState(BridgeContext.STATIC);
+		return ctx;
+	}
+
+	private static org.apache.batik.bridge.BridgeContext createBatikBridgeContext() {
+		org.apache.batik.bridge.UserAgent userAgent = new org.apache.batik.bridge.UserAgentAdapter();
+		org.apache.batik.bridge.BridgeContext ctx = new org.apache.batik.bridge.BridgeContext(
+				userAgent, new org.apache.batik.bridge.DocumentLoader(userAgent));
+		ctx.setDynamicState(org.apache.batik.bridge.BridgeContext.STATIC);
+		return ctx;
+	}
+
+	static BufferedImage createCanvas(Dimension2D size) {
+		int width = (int) Math.ceil(size.getWidth());
+		int height = (int) Math.ceil(size.getHeight());
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	static void render(GraphicsNode gvtRoot, BufferedImage canvas) {
+		Graphics2D g = GraphicsUtil.createGraphics(canvas);
+		prepareGraphics(g, canvas);
+		gvtRoot.paint(g);
+		g.dispose();
+	}
+
+	/**
+	 * Clear the canvas and set the same hints that the transcoders use by default.
+	 *
+	 * @param g      the graphics context.
+	 * @param canvas the canvas.
+	 */
+	private static void prepareGraphics(Graphics2D g, BufferedImage canvas) {
+		g.setComposite(AlphaComposite.Clear);
+		g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+		g.setComposite(AlphaComposite.SrcOver);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+				RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+	}
+
+}